@@ -0,0 +1,217 @@
+package cloud.mobe.utils.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * 在本地生成基准测试的文件.
+ *
+ * <p>文件按格式、行数和内容类型生成在临时目录的 mobe-benchmark 下，已存在时直接使用.
+ * xls 最多 65535 行数据，超出时只生成 65535 行，吞吐量按实际读取的行数计算
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:10
+ */
+public final class BenchmarkFixtures {
+
+  private static final File DIRECTORY = new File(
+      System.getProperty("java.io.tmpdir"),
+      "mobe-benchmark");
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(2020, 1, 1, 0, 0);
+  private static final DateTimeFormatter DATE_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private BenchmarkFixtures() {
+  }
+
+  /**
+   * 单元格内容类型.
+   */
+  public enum Kind {
+    /** 数字单元格为主. */
+    NUMERIC,
+    /** 全部为文本单元格，名称各不相同. */
+    STRING,
+    /** 金额、编号、比例为带缓存结果的公式. */
+    FORMULA
+  }
+
+  /**
+   * 获取基准测试文件，不存在时生成.
+   *
+   * @param format xlsx 或 xls
+   * @param rows 数据行数
+   * @param kind 内容类型
+   * @return 文件
+   * @throws IOException 写入文件的异常
+   */
+  public static synchronized File fixture(String format, int rows, Kind kind) throws IOException {
+    File file = new File(
+        DIRECTORY,
+        kind.name()
+            .toLowerCase() + "-" + rows + "." + format);
+    if (file.isFile()) {
+      return file;
+    }
+    if (!DIRECTORY.isDirectory() && !DIRECTORY.mkdirs()) {
+      throw new IOException("创建目录失败：" + DIRECTORY);
+    }
+    File tempFile = new File(
+        DIRECTORY,
+        file.getName() + ".tmp");
+    if ("xls".equals(format)) {
+      try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+        write(workbook, Math.min(rows, SpreadsheetVersion.EXCEL97.getLastRowIndex()), kind);
+        save(workbook, tempFile);
+      }
+    } else {
+      // 使用共享字符串表，和 excel 保存的文件一致
+      SXSSFWorkbook workbook = new SXSSFWorkbook(null, 1000, true, true);
+      try {
+        write(workbook, rows, kind);
+        save(workbook, tempFile);
+      } finally {
+        workbook.dispose();
+        workbook.close();
+      }
+    }
+    if (!tempFile.renameTo(file)) {
+      throw new IOException("生成文件失败：" + file);
+    }
+    return file;
+  }
+
+  /**
+   * 生成导出的数据.
+   *
+   * @param rows 数据行数
+   * @return 数据
+   */
+  public static List<BenchmarkRow> rows(int rows) {
+    List<BenchmarkRow> data = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      BenchmarkRow row = new BenchmarkRow();
+      row.setName("名称-" + i);
+      row.setCount(count(i));
+      row.setAmount(BigDecimal.valueOf(amount(i)));
+      row.setId((long) i);
+      row.setDate(DateUtil.getJavaDate(date(i)));
+      row.setRatio(ratio(i));
+      data.add(row);
+    }
+    return data;
+  }
+
+  private static void write(Workbook workbook, int rows, Kind kind) {
+    Sheet sheet = workbook.createSheet("data");
+    Row header = sheet.createRow(0);
+    String[] names = {"名称", "数量", "金额", "编号", "日期", "比例"};
+    for (int i = 0; i < names.length; i++) {
+      header.createCell(i)
+            .setCellValue(names[i]);
+    }
+    CellStyle dateStyle = workbook.createCellStyle();
+    dateStyle.setDataFormat(workbook.createDataFormat()
+                                    .getFormat("yyyy-mm-dd hh:mm:ss"));
+
+    for (int i = 0; i < rows; i++) {
+      Row row = sheet.createRow(i + 1);
+      int excelRow = i + 2;
+      switch (kind) {
+        case STRING:
+          row.createCell(0)
+             .setCellValue("名称-" + i);
+          row.createCell(1)
+             .setCellValue(String.valueOf(count(i)));
+          row.createCell(2)
+             .setCellValue(BigDecimal.valueOf(amount(i))
+                                     .toPlainString());
+          row.createCell(3)
+             .setCellValue(String.valueOf(i));
+          row.createCell(4)
+             .setCellValue(DATE_FORMATTER.format(BASE_DATE.plusMinutes(i)));
+          row.createCell(5)
+             .setCellValue(String.valueOf(ratio(i)));
+          break;
+        case FORMULA:
+          row.createCell(0)
+             .setCellValue("n");
+          row.createCell(1)
+             .setCellValue(count(i));
+          formula(row.createCell(2), "B" + excelRow + "/100", amount(i));
+          formula(row.createCell(3), "ROW()-2", i);
+          dateCell(row.createCell(4), i, dateStyle);
+          formula(row.createCell(5), "B" + excelRow + "/7", ratio(i));
+          break;
+        default:
+          row.createCell(0)
+             .setCellValue("n");
+          row.createCell(1)
+             .setCellValue(count(i));
+          row.createCell(2)
+             .setCellValue(amount(i));
+          row.createCell(3)
+             .setCellValue(i);
+          dateCell(row.createCell(4), i, dateStyle);
+          row.createCell(5)
+             .setCellValue(ratio(i));
+          break;
+      }
+    }
+  }
+
+  /**
+   * 写入公式和缓存的计算结果.
+   */
+  private static void formula(Cell cell, String formula, double cachedValue) {
+    cell.setCellFormula(formula);
+    cell.setCellValue(cachedValue);
+  }
+
+  private static void dateCell(Cell cell, int i, CellStyle dateStyle) {
+    cell.setCellValue(date(i));
+    cell.setCellStyle(dateStyle);
+  }
+
+  private static void save(Workbook workbook, File file) throws IOException {
+    try (OutputStream outputStream = new FileOutputStream(file)) {
+      workbook.write(outputStream);
+    }
+  }
+
+  private static int count(int i) {
+    return i % 1000;
+  }
+
+  private static double amount(int i) {
+    return count(i) / 100d;
+  }
+
+  private static double ratio(int i) {
+    return count(i) / 7d;
+  }
+
+  private static double date(int i) {
+    return DateUtil.getExcelDate(Date.from(BASE_DATE.plusMinutes(i)
+                                                    .atZone(ZoneId.systemDefault())
+                                                    .toInstant()));
+  }
+}
@@ -0,0 +1,34 @@
+package cloud.mobe.utils.benchmark;
+
+import cloud.mobe.utils.excel.AbstractExcelDefinition;
+import cloud.mobe.utils.excel.annotation.ExcelColumn;
+import cloud.mobe.utils.excel.annotation.ExcelFile;
+import java.math.BigDecimal;
+import java.util.Date;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 基准测试使用的实体，覆盖常用的字段类型.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:10
+ */
+@Getter
+@Setter
+@ExcelFile(value = "benchmark", sheet = "data")
+public class BenchmarkRow extends AbstractExcelDefinition {
+
+  @ExcelColumn(name = "名称", index = 0)
+  private String name;
+  @ExcelColumn(name = "数量", index = 1)
+  private Integer count;
+  @ExcelColumn(name = "金额", index = 2)
+  private BigDecimal amount;
+  @ExcelColumn(name = "编号", index = 3)
+  private Long id;
+  @ExcelColumn(name = "日期", index = 4)
+  private Date date;
+  @ExcelColumn(name = "比例", index = 5)
+  private Double ratio;
+}
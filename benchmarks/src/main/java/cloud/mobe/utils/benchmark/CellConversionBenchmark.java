@@ -0,0 +1,134 @@
+package cloud.mobe.utils.benchmark;
+
+import cloud.mobe.utils.excel.ExcelImportOptions.FormulaMode;
+import cloud.mobe.utils.excel.ExcelUtil;
+import cloud.mobe.utils.excel.convert.CellValueConverter;
+import cloud.mobe.utils.excel.convert.CellValueConverters;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 单个单元格的读取和类型转换耗时.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CellConversionBenchmark {
+
+  private static final CellValueConverter INTEGER = CellValueConverters.get(Integer.class);
+  private static final CellValueConverter BIG_DECIMAL = CellValueConverters.get(BigDecimal.class);
+  private static final CellValueConverter STRING = CellValueConverters.get(String.class);
+  private static final CellValueConverter DATE = CellValueConverters.get(Date.class);
+
+  private XSSFWorkbook workbook;
+  private FormulaEvaluator evaluator;
+  private Cell numericCell;
+  private Cell decimalCell;
+  private Cell integerTextCell;
+  private Cell decimalTextCell;
+  private Cell dateCell;
+  private Cell dateTextCell;
+  private Cell formulaCell;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    workbook = new XSSFWorkbook();
+    evaluator = workbook.getCreationHelper()
+                        .createFormulaEvaluator();
+    Row row = workbook.createSheet()
+                      .createRow(0);
+    numericCell = row.createCell(0);
+    numericCell.setCellValue(123);
+    decimalCell = row.createCell(1);
+    decimalCell.setCellValue(0.1 + 0.2);
+    integerTextCell = row.createCell(2);
+    integerTextCell.setCellValue("123");
+    decimalTextCell = row.createCell(3);
+    decimalTextCell.setCellValue("12.50");
+    CellStyle dateStyle = workbook.createCellStyle();
+    dateStyle.setDataFormat(workbook.createDataFormat()
+                                    .getFormat("yyyy-mm-dd hh:mm:ss"));
+    dateCell = row.createCell(4);
+    dateCell.setCellValue(new Date());
+    dateCell.setCellStyle(dateStyle);
+    dateTextCell = row.createCell(5);
+    dateTextCell.setCellValue("2020-01-01 12:30:00");
+    formulaCell = row.createCell(6);
+    formulaCell.setCellFormula("A1*2+B1");
+    evaluator.evaluateFormulaCell(formulaCell);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    workbook.close();
+  }
+
+  @Benchmark
+  public Object numericToInteger() {
+    return ExcelUtil.getCellValue(evaluator, numericCell, INTEGER);
+  }
+
+  @Benchmark
+  public Object numericToBigDecimal() {
+    return ExcelUtil.getCellValue(evaluator, decimalCell, BIG_DECIMAL);
+  }
+
+  @Benchmark
+  public Object numericToString() {
+    return ExcelUtil.getCellValue(evaluator, decimalCell, STRING);
+  }
+
+  @Benchmark
+  public Object textToInteger() {
+    return ExcelUtil.getCellValue(evaluator, integerTextCell, INTEGER);
+  }
+
+  @Benchmark
+  public Object textToBigDecimal() {
+    return ExcelUtil.getCellValue(evaluator, decimalTextCell, BIG_DECIMAL);
+  }
+
+  @Benchmark
+  public Object dateToDate() {
+    return ExcelUtil.getCellValue(evaluator, dateCell, DATE);
+  }
+
+  @Benchmark
+  public Object textToDate() {
+    return ExcelUtil.getCellValue(evaluator, dateTextCell, DATE);
+  }
+
+  @Benchmark
+  public Object formulaEvaluate() {
+    return ExcelUtil.getCellValue(evaluator, formulaCell, BIG_DECIMAL, FormulaMode.EVALUATE);
+  }
+
+  @Benchmark
+  public Object formulaCached() {
+    return ExcelUtil.getCellValue(evaluator, formulaCell, BIG_DECIMAL, FormulaMode.CACHED);
+  }
+}
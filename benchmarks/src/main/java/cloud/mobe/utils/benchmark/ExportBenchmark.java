@@ -0,0 +1,74 @@
+package cloud.mobe.utils.benchmark;
+
+import cloud.mobe.utils.excel.ExcelDetail;
+import cloud.mobe.utils.excel.ExcelUtil;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 导出的吞吐量，包括写入单元格和压缩输出，输出内容丢弃.
+ *
+ * <p>rows 计数器为每秒导出的行数
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExportBenchmark {
+
+  /** 丢弃写入内容的输出流. */
+  private static final OutputStream DISCARD = new OutputStream() {
+    @Override
+    public void write(int b) {
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+    }
+  };
+
+  @Param({"10000", "100000", "1000000"})
+  public int rows;
+
+  private List<BenchmarkRow> data;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    data = BenchmarkFixtures.rows(rows);
+  }
+
+  @Benchmark
+  public void xlsx(RowCounter counter) throws Exception {
+    try (ExcelDetail<BenchmarkRow> excelDetail = ExcelUtil.export(BenchmarkRow.class, data)) {
+      excelDetail.writeTo(DISCARD);
+    }
+    counter.rows += data.size();
+  }
+
+  @Benchmark
+  public void csv(RowCounter counter) throws Exception {
+    counter.rows += ExcelUtil.exportCsv(
+        BenchmarkRow.class,
+        data,
+        Channels.newChannel(DISCARD));
+  }
+}
@@ -0,0 +1,67 @@
+package cloud.mobe.utils.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 磁盘文件作为上传文件，用于 {@link cloud.mobe.utils.excel.ExcelUtil#buildStreaming}.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:10
+ */
+final class FileMultipartFile implements MultipartFile {
+
+  private final File file;
+
+  FileMultipartFile(File file) {
+    this.file = file;
+  }
+
+  @Override
+  public String getName() {
+    return "file";
+  }
+
+  @Override
+  public String getOriginalFilename() {
+    return file.getName();
+  }
+
+  @Override
+  public String getContentType() {
+    return null;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return file.length() == 0;
+  }
+
+  @Override
+  public long getSize() {
+    return file.length();
+  }
+
+  @Override
+  public byte[] getBytes() throws IOException {
+    return Files.readAllBytes(file.toPath());
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return new FileInputStream(file);
+  }
+
+  @Override
+  public void transferTo(File dest) throws IOException {
+    Files.copy(
+        file.toPath(),
+        dest.toPath(),
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+}
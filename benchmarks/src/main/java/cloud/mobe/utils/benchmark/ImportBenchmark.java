@@ -0,0 +1,102 @@
+package cloud.mobe.utils.benchmark;
+
+import cloud.mobe.utils.benchmark.BenchmarkFixtures.Kind;
+import cloud.mobe.utils.excel.ExcelDetail;
+import cloud.mobe.utils.excel.ExcelImportOptions;
+import cloud.mobe.utils.excel.ExcelImportOptions.FormulaMode;
+import cloud.mobe.utils.excel.ExcelUtil;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 导入的吞吐量，包括打开文件、读取单元格、转换和绑定.
+ *
+ * <p>workbook 方式和流式读取分别测试，rows 计数器为每秒导入的行数
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ImportBenchmark {
+
+  @Param({"xlsx", "xls"})
+  public String format;
+  @Param({"10000", "100000", "1000000"})
+  public int rows;
+  @Param({"NUMERIC", "STRING", "FORMULA"})
+  public Kind kind;
+
+  private File file;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    file = BenchmarkFixtures.fixture(format, rows, kind);
+  }
+
+  /**
+   * workbook 方式读取，公式重新计算.
+   */
+  @Benchmark
+  public List<BenchmarkRow> workbook(RowCounter counter) throws Exception {
+    return read(new ExcelImportOptions(), counter);
+  }
+
+  /**
+   * workbook 方式读取，公式读取缓存结果.
+   */
+  @Benchmark
+  public List<BenchmarkRow> workbookCachedFormula(RowCounter counter) throws Exception {
+    ExcelImportOptions options = new ExcelImportOptions();
+    options.setFormulaMode(FormulaMode.CACHED);
+    return read(options, counter);
+  }
+
+  /**
+   * 流式读取.
+   */
+  @Benchmark
+  public void streaming(RowCounter counter, Blackhole blackhole) throws Exception {
+    try (ExcelDetail<BenchmarkRow> excelDetail = ExcelUtil.buildStreaming(
+        new FileMultipartFile(file),
+        BenchmarkRow.class)) {
+      excelDetail.read(
+          0,
+          false,
+          row -> {
+            counter.rows++;
+            blackhole.consume(row);
+          });
+    }
+  }
+
+  private List<BenchmarkRow> read(ExcelImportOptions options, RowCounter counter)
+      throws Exception {
+    try (ExcelDetail<BenchmarkRow> excelDetail = ExcelUtil.build(
+        file,
+        BenchmarkRow.class,
+        options)) {
+      List<BenchmarkRow> data = excelDetail.getData();
+      counter.rows += data.size();
+      return data;
+    }
+  }
+}
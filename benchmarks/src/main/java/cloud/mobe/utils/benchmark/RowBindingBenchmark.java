@@ -0,0 +1,62 @@
+package cloud.mobe.utils.benchmark;
+
+import cloud.mobe.utils.excel.ExcelDefinitionMetadata;
+import cloud.mobe.utils.excel.binder.RowBinder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 一行单元格原始值转换并绑定到实体的耗时，和流式读取的绑定过程相同.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowBindingBenchmark {
+
+  /** 单元格原始值为数字或文本. */
+  @Param({"NUMERIC", "STRING"})
+  public String kind;
+
+  private RowBinder<BenchmarkRow> rowBinder;
+  private Object[] values;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    rowBinder = ExcelDefinitionMetadata.of(BenchmarkRow.class)
+                                       .getRowBinder();
+    values = "STRING".equals(kind)
+             ? new Object[]{"名称-1", "123", "1.23", "123456", "2020-01-01 12:30:00", "0.5"}
+             : new Object[]{"名称-1", 123d, 1.23d, 123456d, 43831.5d, 0.5d};
+  }
+
+  @Benchmark
+  public BenchmarkRow bind() {
+    BenchmarkRow data = rowBinder.newInstance();
+    for (int i = 0; i < rowBinder.size(); i++) {
+      Object value = values[rowBinder.columnIndex(i)];
+      rowBinder.set(
+          i,
+          data,
+          rowBinder.converter(i)
+                   .convert(value));
+    }
+    return data;
+  }
+}
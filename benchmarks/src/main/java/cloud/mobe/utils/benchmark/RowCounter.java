@@ -0,0 +1,26 @@
+package cloud.mobe.utils.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 按处理的行数输出吞吐量，结果中的 rows 即每秒行数.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:10
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class RowCounter {
+
+  /** 处理的行数. */
+  public long rows;
+
+  @Setup(Level.Iteration)
+  public void reset() {
+    rows = 0;
+  }
+}
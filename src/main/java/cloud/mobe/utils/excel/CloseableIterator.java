@@ -0,0 +1,22 @@
+package cloud.mobe.utils.excel;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * 需要关闭的迭代器.
+ *
+ * <p>流式读取的迭代器持有读取线程和打开的文件，提前结束迭代时必须关闭，建议使用 try-with-resources.
+ * 迭代结束后重复关闭没有影响
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 22:40
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+
+  /**
+   * 停止读取，释放读取线程和文件.
+   */
+  @Override
+  void close();
+}
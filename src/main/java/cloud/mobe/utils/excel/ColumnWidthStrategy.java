@@ -0,0 +1,20 @@
+package cloud.mobe.utils.excel;
+
+import cloud.mobe.utils.excel.annotation.ExcelColumn;
+
+/**
+ * 导出时设置列宽的方式.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:55
+ */
+public enum ColumnWidthStrategy {
+  /** 使用 {@link ExcelColumn#width()}. */
+  FIXED,
+  /**
+   * 按表头和开头若干行的显示文本估算列宽，中日韩等全角字符按两个字符宽度计算.
+   *
+   * <p>不使用字体测量，每列的计算量只与采样行数有关，可用于 SXSSF 的滑动窗口写入
+   */
+  SAMPLED
+}
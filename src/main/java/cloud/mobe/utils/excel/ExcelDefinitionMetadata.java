@@ -0,0 +1,254 @@
+package cloud.mobe.utils.excel;
+
+import static com.google.common.collect.Lists.newArrayListWithExpectedSize;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toCollection;
+
+import cloud.mobe.utils.excel.annotation.ExcelColumn;
+import cloud.mobe.utils.excel.annotation.ExcelFile;
+import cloud.mobe.utils.excel.binder.RowBinder;
+import cloud.mobe.utils.excel.dto.ExcelItemAnnotationInfo;
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo;
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo.DataField;
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo.HeaderField;
+import cloud.mobe.utils.exception.MobeServiceException;
+import com.google.common.base.Suppliers;
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 实体类的 excel 定义信息缓存.
+ *
+ * <p>{@link ExcelFile}、{@link ExcelColumn}、{@link cloud.mobe.utils.excel.annotation.ExcelHeader}
+ * 的解析结果按类缓存，每个类在每个 JVM 中只解析一次. 各部分在首次使用时解析，缓存的解析结果在线程间共享，
+ * 公开的方法返回可修改的副本，修改副本不影响缓存.
+ *
+ * <p>缓存通过 {@link ClassValue} 保存在类自身上，随类和类加载器一起回收. 缓存的结果强引用类的 set、get 方法，
+ * 持有本对象或 {@link #getRowBinder()} 的结果时，对应的类加载器不会被回收，不要把它们保存在生命周期更长的
+ * 类加载器（如容器共享的类库）的静态变量中.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 16:10
+ */
+public final class ExcelDefinitionMetadata {
+
+  private static final ClassValue<ExcelDefinitionMetadata> CACHE =
+      new ClassValue<ExcelDefinitionMetadata>() {
+        @Override
+        protected ExcelDefinitionMetadata computeValue(Class<?> type) {
+          return new ExcelDefinitionMetadata(type);
+        }
+      };
+
+  private final Class<?> definitionClass;
+  private final ExcelFile excelFile;
+  private final Map<Class<? extends Annotation>, List<?>> annotationInfos =
+      new ConcurrentHashMap<>(4);
+  private final Supplier<List<Object[]>> annotationFields;
+  private final Supplier<RowBinder<?>> rowBinder;
+  private final Supplier<ExcelStructureInfo> structureInfo;
+
+  private ExcelDefinitionMetadata(Class<?> definitionClass) {
+    this.definitionClass = definitionClass;
+    this.excelFile = definitionClass.getAnnotation(ExcelFile.class);
+    this.annotationFields = Suppliers.memoize(this::createAnnotationFields);
+    this.rowBinder = Suppliers.memoize(() -> RowBinder.compile(definitionClass));
+    this.structureInfo = Suppliers.memoize(() -> {
+      try {
+        return ExcelUtil.createExcelStructureInfo(definitionClass);
+      } catch (IntrospectionException e) {
+        throw new MobeServiceException(
+            "未找到字段",
+            e);
+      }
+    });
+  }
+
+  /**
+   * 获取类的定义信息.
+   *
+   * @param definitionClass 实体类
+   * @return 定义信息
+   */
+  public static ExcelDefinitionMetadata of(Class<?> definitionClass) {
+    return CACHE.get(definitionClass);
+  }
+
+  /**
+   * 文件定义.
+   *
+   * @return 类上没有 {@link ExcelFile} 注解时返回null
+   */
+  public ExcelFile getExcelFile() {
+    return excelFile;
+  }
+
+  /**
+   * 字段的注解信息.
+   *
+   * @param annotation 注解类型
+   * @return 注解信息的副本
+   * @see ExcelUtil#getAnnotationInfo(Class, Class)
+   */
+  public <A extends Annotation> List<ExcelItemAnnotationInfo<A>> getAnnotationInfo(
+      Class<A> annotation) {
+    return this.annotationInfo(annotation)
+               .stream()
+               .map(ExcelDefinitionMetadata::copy)
+               .collect(toCollection(ArrayList::new));
+  }
+
+  /**
+   * 缓存的字段注解信息，只在内部读取.
+   *
+   * @param annotation 注解类型
+   * @return 共享的注解信息，不能修改
+   */
+  @SuppressWarnings("unchecked")
+  <A extends Annotation> List<ExcelItemAnnotationInfo<A>> annotationInfo(Class<A> annotation) {
+    return (List<ExcelItemAnnotationInfo<A>>) annotationInfos.computeIfAbsent(
+        annotation,
+        key -> unmodifiableList(ExcelUtil.scanAnnotationInfo(definitionClass, key)));
+  }
+
+  /**
+   * 导入字段的信息，元素为 [列序号, set方法, 字段名, 字段类型].
+   *
+   * @return 字段信息的副本
+   */
+  public List<Object[]> getAnnotationFields() {
+    List<Object[]> fields = annotationFields.get();
+    List<Object[]> result = newArrayListWithExpectedSize(fields.size());
+    for (Object[] field : fields) {
+      result.add(field.clone());
+    }
+    return result;
+  }
+
+  /**
+   * 预编译的行绑定器.
+   *
+   * @return 行绑定器
+   */
+  @SuppressWarnings("unchecked")
+  public <T> RowBinder<T> getRowBinder() {
+    return (RowBinder<T>) rowBinder.get();
+  }
+
+  /**
+   * 导出的结构信息.
+   *
+   * @return 结构信息的副本
+   * @throws IntrospectionException 未找到字段的get方法
+   * @see ExcelUtil#getExcelStructureInfo(Class)
+   */
+  public ExcelStructureInfo getStructureInfo() throws IntrospectionException {
+    return copy(this.structureInfo());
+  }
+
+  /**
+   * 缓存的导出结构信息，只在内部读取.
+   *
+   * @return 共享的结构信息，不能修改
+   * @throws IntrospectionException 未找到字段的get方法
+   */
+  ExcelStructureInfo structureInfo() throws IntrospectionException {
+    try {
+      return structureInfo.get();
+    } catch (MobeServiceException e) {
+      if (e.getCause() instanceof IntrospectionException) {
+        throw (IntrospectionException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private List<Object[]> createAnnotationFields() {
+    Field[] declaredFields = definitionClass.getDeclaredFields();
+
+    List<Object[]> fields = newArrayListWithExpectedSize(declaredFields.length);
+    for (Field declaredField : declaredFields) {
+      ExcelColumn fieldAnnotation = declaredField.getAnnotation(ExcelColumn.class);
+      if (fieldAnnotation == null) {
+        continue;
+      }
+      try {
+        PropertyDescriptor propertyDescriptor = new PropertyDescriptor(
+            declaredField.getName(),
+            definitionClass);
+        fields.add(new Object[]{fieldAnnotation.index(),
+            propertyDescriptor.getWriteMethod(), fieldAnnotation.name(), declaredField.getType()});
+      } catch (IntrospectionException e) {
+        throw new MobeServiceException(
+            "未找到字段",
+            e);
+      }
+    }
+    return unmodifiableList(fields);
+  }
+
+  private static <A extends Annotation> ExcelItemAnnotationInfo<A> copy(
+      ExcelItemAnnotationInfo<A> source) {
+    ExcelItemAnnotationInfo<A> target = new ExcelItemAnnotationInfo<>();
+    target.setFieldName(source.getFieldName());
+    target.setFieldType(source.getFieldType());
+    target.setAnnotation(source.getAnnotation());
+    return target;
+  }
+
+  private static ExcelStructureInfo copy(ExcelStructureInfo source) {
+    ExcelStructureInfo target = new ExcelStructureInfo();
+    if (source.getHeaderFields() != null) {
+      List<HeaderField> headerFields = newArrayListWithExpectedSize(
+          source.getHeaderFields()
+                .size());
+      for (HeaderField headerField : source.getHeaderFields()) {
+        HeaderField headerFieldCopy = new HeaderField();
+        headerFieldCopy.setIndex(headerField.getIndex());
+        headerFieldCopy.setColumnFields(copy(headerField.getColumnFields()));
+        headerFields.add(headerFieldCopy);
+      }
+      target.setHeaderFields(headerFields);
+    }
+    target.setDataFields(copy(source.getDataFields()));
+    return target;
+  }
+
+  private static List<DataField> copy(List<DataField> source) {
+    if (source == null) {
+      return null;
+    }
+    List<DataField> target = newArrayListWithExpectedSize(source.size());
+    for (DataField dataField : source) {
+      DataField dataFieldCopy = new DataField();
+      dataFieldCopy.setIndex(dataField.getIndex());
+      dataFieldCopy.setWidth(dataField.getWidth());
+      dataFieldCopy.setType(dataField.getType());
+      dataFieldCopy.setReadMethod(dataField.getReadMethod());
+      dataFieldCopy.setName(dataField.getName());
+      dataFieldCopy.setDataFormat(dataField.getDataFormat());
+      dataFieldCopy.setColspan(dataField.getColspan());
+      dataFieldCopy.setRowspan(dataField.getRowspan());
+      dataFieldCopy.setHorizontal(dataField.getHorizontal());
+      dataFieldCopy.setVertical(dataField.getVertical());
+      dataFieldCopy.setFontColor(dataField.getFontColor());
+      dataFieldCopy.setBgColor(dataField.getBgColor());
+      if (dataField.getHeaderCellStyle() != null) {
+        dataFieldCopy.setHeaderCellStyle(new HashMap<>(dataField.getHeaderCellStyle()));
+      }
+      if (dataField.getDataCellStyle() != null) {
+        dataFieldCopy.setDataCellStyle(new HashMap<>(dataField.getDataCellStyle()));
+      }
+      target.add(dataFieldCopy);
+    }
+    return target;
+  }
+}
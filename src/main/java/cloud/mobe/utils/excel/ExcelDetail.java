@@ -2,23 +2,64 @@ package cloud.mobe.utils.excel;
 
 import static cloud.mobe.utils.CheckEmptyUtil.isEmpty;
 import static cloud.mobe.utils.CheckEmptyUtil.isNotEmpty;
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+import static com.google.common.collect.Maps.newLinkedHashMapWithExpectedSize;
 
+import cloud.mobe.utils.excel.ExcelImportOptions.FormulaMode;
+import cloud.mobe.utils.excel.binder.RowBinder;
+import cloud.mobe.utils.excel.checkpoint.ImportCheckpointStore;
+import cloud.mobe.utils.excel.dto.ImportCheckpoint;
+import cloud.mobe.utils.excel.dto.ImportErrorReport;
+import cloud.mobe.utils.excel.reader.CsvSheetReader;
+import cloud.mobe.utils.excel.reader.DateFormatCache;
+import cloud.mobe.utils.excel.reader.SheetReader;
+import cloud.mobe.utils.excel.reader.XlsSheetReader;
+import cloud.mobe.utils.excel.reader.XlsxSheetReader;
+import cloud.mobe.utils.excel.writer.CellStyleRegistry;
+import cloud.mobe.utils.exception.MobeServiceException;
 import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.DateTimeException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 /**
  * Excel信息.
@@ -29,11 +70,14 @@ import org.apache.poi.ss.usermodel.Workbook;
 @Getter
 @Setter
 @Slf4j
-public class ExcelDetail<T extends AbstractExcelDefinition> {
+public class ExcelDetail<T extends AbstractExcelDefinition> implements Closeable {
 
   /** 表格空间. */
   private Workbook workbook;
+  /** 公式计算器，只读取缓存的计算结果时为null. */
   private FormulaEvaluator evaluator;
+  /** 公式单元格的读取方式. */
+  private FormulaMode formulaMode = FormulaMode.EVALUATE;
   /** 文件名称. */
   private String fileName;
   /** sheet页名称. */
@@ -42,8 +86,38 @@ public class ExcelDetail<T extends AbstractExcelDefinition> {
   private List<Object[]> annotationFields;
   /** 实体类信息. */
   private Class<T> definitionClass;
-  /** 当前行数. */
+  /** 预编译的行绑定器，第一次读取时编译，导出时不需要. */
+  private RowBinder<T> rowBinder;
+  /** 数据开始的行号，0开始. */
   private Integer rowNum;
+  /** 按文件头识别的源文件格式. */
+  private ExcelFileFormat fileFormat;
+  /** 流式读取的源文件，为null时从workbook读取. */
+  private File sourceFile;
+  /** 源文件是否为上传时转存的临时文件，关闭时删除. */
+  private boolean temporarySourceFile;
+  /** 从文件通道构建时转存的 xlsx 或 xls 临时文件，workbook 关闭后删除. */
+  private File temporaryWorkbookFile;
+  /** 流式读取 xlsx 时共享字符串表在内存中缓存的字符串数量，为0时全部读入内存. */
+  private int sharedStringsCacheSize;
+  /** workbook 方式构建时打开文件的时间，纳秒. */
+  private long workbookOpenNanos;
+  /** workbook 的日期格式缓存，按样式序号缓存是否为日期格式. */
+  private DateFormatCache dateFormatCache;
+
+  /**
+   * 获取行绑定器，第一次获取时编译.
+   *
+   * @return 行绑定器
+   * @throws MobeServiceException 实体类有不支持的字段类型
+   */
+  public RowBinder<T> getRowBinder() {
+    if (this.rowBinder == null) {
+      this.rowBinder = ExcelDefinitionMetadata.of(definitionClass)
+                                              .getRowBinder();
+    }
+    return this.rowBinder;
+  }
 
   /**
    * 获取数据.
@@ -65,6 +139,195 @@ public class ExcelDetail<T extends AbstractExcelDefinition> {
    */
   public List<T> getData(int sheetAt, boolean ignoreCellValueException)
       throws IllegalAccessException, InstantiationException, InvocationTargetException {
+    return this.collect(sheetAt, ignoreCellValueException, null, this.evaluator);
+  }
+
+  /**
+   * 获取数据，收集单元格错误而不抛出异常.
+   *
+   * <p>转换失败的单元格对应的字段为null，错误记录到 errorReport，不打印日志
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param errorReport 错误汇总
+   * @return data
+   * @see ImportErrorReport
+   */
+  public List<T> getData(int sheetAt, ImportErrorReport errorReport) {
+    return this.collect(sheetAt, true, errorReport, this.evaluator);
+  }
+
+  /**
+   * 读取多个sheet页的数据，在调用线程中按顺序读取.
+   *
+   * <p>流式构建时各个sheet页共用一次加载的共享字符串表和样式表. 需要并行读取时使用指定线程池的重载
+   *
+   * @param sheetAts sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @return 按 sheetAts 顺序排列的 sheet序列号 - 数据
+   * @see #getData(Collection, boolean, Executor)
+   */
+  public Map<Integer, List<T>> getData(
+      Collection<Integer> sheetAts, boolean ignoreCellValueException) {
+    return this.getData(
+        sheetAts,
+        ignoreCellValueException,
+        Runnable::run);
+  }
+
+  /**
+   * 并行读取多个sheet页的数据.
+   *
+   * <p>只有流式构建时并行读取，每个sheet页一个任务，使用独立的解析器. xlsx 的共享字符串表和样式表只加载一次，
+   * 各个任务只读共用. 读取任务阻塞在文件 IO 上，应使用有界的专用线程池，不要使用 {@link
+   * java.util.concurrent.ForkJoinPool#commonPool()}. 任一sheet页读取失败时通知其余任务停止，
+   * 等待全部任务结束后抛出第一个异常.
+   *
+   * <p>POI 的 workbook 对象模型即使只读也不是线程安全的，样式表、共享字符串表和格式表会在读取时延迟初始化，
+   * 所以从workbook构建时在调用线程中按顺序读取，不使用 executor
+   *
+   * @param sheetAts sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @param executor 执行读取任务的线程池，流式构建时使用，不能为null
+   * @return 按 sheetAts 顺序排列的 sheet序列号 - 数据
+   */
+  public Map<Integer, List<T>> getData(
+      Collection<Integer> sheetAts, boolean ignoreCellValueException, Executor executor) {
+    if (this.sourceFile == null) {
+      Map<Integer, List<T>> sheetData = newLinkedHashMapWithExpectedSize(sheetAts.size());
+      for (Integer sheetAt : sheetAts) {
+        sheetData.put(
+            sheetAt,
+            this.collect(sheetAt, ignoreCellValueException, null, this.evaluator));
+      }
+      return sheetData;
+    }
+    if (executor == null) {
+      throw new MobeServiceException("并行读取sheet页的线程池不能为空");
+    }
+    AtomicBoolean cancelled = new AtomicBoolean();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Map<Integer, CompletableFuture<List<T>>> futures = newLinkedHashMapWithExpectedSize(
+        sheetAts.size());
+    try (SheetReader sharedReader = (this.fileFormat == ExcelFileFormat.XLSX)
+                                    ? this.openSheetReader()
+                                    : null) {
+      try {
+        for (Integer sheetAt : sheetAts) {
+          futures.put(
+              sheetAt,
+              CompletableFuture.supplyAsync(
+                  () -> this.readSheet(
+                      sheetAt,
+                      ignoreCellValueException,
+                      sharedReader,
+                      cancelled,
+                      failure),
+                  executor));
+        }
+      } catch (RuntimeException e) {
+        // 线程池拒绝任务时停止已提交的任务
+        failure.compareAndSet(null, e);
+        cancelled.set(true);
+      }
+      // 共用的读取器在全部任务结束后才能关闭
+      CompletableFuture.allOf(futures.values()
+                                     .toArray(new CompletableFuture<?>[0]))
+                       .exceptionally(e -> null)
+                       .join();
+    } catch (IOException e) {
+      failure.compareAndSet(null, e);
+    }
+
+    Throwable cause = failure.get();
+    if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    } else if (cause instanceof Error) {
+      throw (Error) cause;
+    } else if (cause != null) {
+      throw new MobeServiceException(
+          "读取excel文件失败",
+          cause);
+    }
+    Map<Integer, List<T>> sheetData = newLinkedHashMapWithExpectedSize(futures.size());
+    for (Map.Entry<Integer, CompletableFuture<List<T>>> entry : futures.entrySet()) {
+      sheetData.put(
+          entry.getKey(),
+          entry.getValue()
+               .join());
+    }
+    return sheetData;
+  }
+
+  /**
+   * 并行读取时一个sheet页的任务，其他任务失败后在下一行停止.
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示
+   * @param sheetReader 共用的读取器，为null时打开新的读取器
+   * @param cancelled 停止读取的标记
+   * @param failure 第一个失败的异常
+   * @return data
+   */
+  private List<T> readSheet(
+      int sheetAt,
+      boolean ignoreCellValueException,
+      SheetReader sheetReader,
+      AtomicBoolean cancelled,
+      AtomicReference<Throwable> failure) {
+    List<T> importData = Lists.newArrayList();
+    try {
+      if (cancelled.get()) {
+        throw new CancellationException();
+      }
+      ObjIntConsumer<T> consumer = (data, currentRowNum) -> {
+        if (cancelled.get()) {
+          throw new CancellationException();
+        }
+        importData.add(data);
+      };
+      if (sheetReader == null) {
+        this.readRows(sheetAt, rowNum, ignoreCellValueException, null, consumer);
+      } else {
+        this.readRows(sheetReader, sheetAt, rowNum, ignoreCellValueException, null, consumer);
+      }
+    } catch (IOException e) {
+      failure.compareAndSet(null, e);
+      cancelled.set(true);
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException | Error e) {
+      // 先记录异常再通知其余任务，被停止的任务不会覆盖第一个异常
+      failure.compareAndSet(null, e);
+      cancelled.set(true);
+      throw e;
+    }
+    return importData;
+  }
+
+  /**
+   * 读取一个sheet页的全部数据.
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示
+   * @param errorReport 错误汇总，为null时不收集
+   * @param formulaEvaluator 公式计算器，流式读取时不使用
+   * @return data
+   */
+  private List<T> collect(
+      int sheetAt,
+      boolean ignoreCellValueException,
+      ImportErrorReport errorReport,
+      FormulaEvaluator formulaEvaluator) {
+    if (this.sourceFile != null) {
+      List<T> importData = Lists.newArrayList();
+      try {
+        this.read(sheetAt, ignoreCellValueException, errorReport, importData::add);
+      } catch (IOException e) {
+        throw new MobeServiceException(
+            "读取excel文件失败",
+            e);
+      }
+      return importData;
+    }
     Sheet sheet = workbook.getSheetAt(sheetAt);
 
     int lastRowNum = sheet.getLastRowNum();
@@ -72,55 +335,665 @@ public class ExcelDetail<T extends AbstractExcelDefinition> {
       log.debug("current num - {}, total row num - {}", rowNum, lastRowNum);
     }
     List<T> importData = Lists.newArrayListWithExpectedSize(lastRowNum);
-    for (; rowNum <= lastRowNum; rowNum++) {
-      Row row = sheet.getRow(rowNum);
-      if (isEmpty(row)) {
+    ExcelImportMetrics metrics = ExcelImportMetrics.start(
+        fileName,
+        sheetAt,
+        false,
+        workbookOpenNanos);
+    boolean successful = false;
+    try {
+      // 行游标，每次读取从表头之后开始
+      for (int currentRowNum = rowNum; currentRowNum <= lastRowNum; currentRowNum++) {
+        Row row = sheet.getRow(currentRowNum);
+        if (isEmpty(row)) {
+          continue;
+        }
+        T data = this.bindRow(
+            row,
+            formulaEvaluator,
+            ignoreCellValueException,
+            errorReport,
+            metrics);
+        if (data != null) {
+          importData.add(data);
+          if (metrics != null) {
+            metrics.row(0);
+          }
+        }
+      }
+      successful = true;
+    } finally {
+      if (metrics != null) {
+        metrics.finish(successful, 0);
+      }
+    }
+    return importData;
+  }
+
+  /**
+   * 将workbook中的一行绑定到实体类.
+   *
+   * @param row 行
+   * @param formulaEvaluator 公式计算器
+   * @param ignoreCellValueException 忽略单元格异常提示
+   * @param errorReport 错误汇总，为null时不收集
+   * @param metrics 导入指标，为null时不记录
+   * @return 空行返回null
+   */
+  private T bindRow(
+      Row row,
+      FormulaEvaluator formulaEvaluator,
+      boolean ignoreCellValueException,
+      ImportErrorReport errorReport,
+      ExcelImportMetrics metrics) {
+    // 用于判断当前行是否为空行，如果是空行，不作为数据
+    boolean isEmptyRow = true;
+    long bindStart = (metrics == null) ? 0 : System.nanoTime();
+    RowBinder<T> rowBinder = this.getRowBinder();
+    T data = rowBinder.newInstance();
+    if (metrics != null) {
+      metrics.bind(System.nanoTime() - bindStart);
+    }
+    for (int i = 0; i < rowBinder.size(); i++) {
+      Cell cell = row.getCell(rowBinder.columnIndex(i));
+      if ((cell == null)
+          || (cell.getCellType() == CellType.BLANK)
+          || (cell.getCellType() == CellType._NONE)) {
+        continue;
+      }
+      isEmptyRow = false;
+      if (cell.getCellType() == CellType.NUMERIC
+          && rowBinder.isPrimitiveNumeric(i)
+          && !ExcelUtil.isCellDateFormatted(cell, dateFormatCache)) {
+        // 基本类型的数字字段直接赋值，不经过转换器和装箱
+        this.bindNumeric(i, data, cell.getNumericCellValue(), metrics);
         continue;
       }
-      // 用于判断当前行是否为空行，如果是空行，不作为数据
-      boolean isEmptyRow = true;
-      T data = definitionClass.newInstance();
-      for (Object[] annotationField : annotationFields) {
-        Cell cell = row.getCell((Integer) annotationField[0]);
-        if ((cell == null)
-            || (cell.getCellType() == CellType.BLANK)
-            || (cell.getCellType() == CellType._NONE)) {
+      // 获取单元格值
+      Object cellValue;
+      long readStart = (metrics == null) ? 0 : System.nanoTime();
+      try {
+        cellValue = ExcelUtil.readCellValue(
+            formulaEvaluator,
+            cell,
+            rowBinder.converter(i),
+            formulaMode,
+            dateFormatCache);
+      } catch (RuntimeException e) {
+        if (metrics != null) {
+          metrics.error();
+        }
+        if (errorReport != null) {
+          errorReport.add(
+              row.getRowNum(),
+              cell.getColumnIndex(),
+              rowBinder.fieldName(i),
+              cell,
+              rowBinder.fieldType(i));
           continue;
         }
-        isEmptyRow = false;
-        // 获取单元格值
-        Object cellValue;
-        try {
-          cellValue = ExcelUtil.getCellValue(this.evaluator, cell, (Class<?>) annotationField[3]);
-        } catch (Exception e) {
-          // 如果忽略异常提示，则不设置dto数据
-          if (ignoreCellValueException) {
-            continue;
+        // 如果忽略异常提示，则不设置dto数据
+        if (ignoreCellValueException) {
+          continue;
+        }
+        if (e instanceof IllegalArgumentException
+            || e instanceof IllegalStateException
+            || e instanceof DateTimeException) {
+          throw ExcelUtil.cellValueFormatException(row.getRowNum(), cell.getColumnIndex(), e);
+        }
+        throw e;
+      }
+      if (metrics != null) {
+        metrics.cell(
+            cell.getCellType(),
+            ExcelUtil.evaluatesFormula(formulaEvaluator, cell, formulaMode),
+            System.nanoTime() - readStart);
+      }
+      if (log.isDebugEnabled()) {
+        log.debug(
+            "row - {}, cell - {}, cellType - {}, cellValue - {}",
+            row.getRowNum(),
+            cell.getColumnIndex(),
+            cell.getCellType(),
+            cellValue);
+      }
+      if (isNotEmpty(cellValue)) {
+        // set 值
+        bindStart = (metrics == null) ? 0 : System.nanoTime();
+        rowBinder.set(i, data, cellValue);
+        if (metrics != null) {
+          metrics.bind(System.nanoTime() - bindStart);
+        }
+      }
+    }
+    if (isEmptyRow) {
+      if (log.isDebugEnabled()) {
+        log.debug("row - {} is empty", row.getRowNum());
+      }
+      return null;
+    }
+    return data;
+  }
+
+  /**
+   * 逐行读取数据.
+   *
+   * <p>流式构建时边解析边回调，内存占用不随文件大小增长；否则从workbook中读取
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @param consumer 每一行非空数据的回调
+   * @throws IOException 读取文件的异常
+   * @see #getData(int, boolean)
+   * @see ExcelUtil#buildStreaming(org.springframework.web.multipart.MultipartFile, Class)
+   */
+  public void read(int sheetAt, boolean ignoreCellValueException, Consumer<T> consumer)
+      throws IOException {
+    this.read(sheetAt, ignoreCellValueException, null, consumer);
+  }
+
+  /**
+   * 逐行读取数据，收集单元格错误而不抛出异常.
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param errorReport 错误汇总，转换失败的单元格对应的字段为null
+   * @param consumer 每一行非空数据的回调
+   * @throws IOException 读取文件的异常
+   * @see #getData(int, ImportErrorReport)
+   */
+  public void read(int sheetAt, ImportErrorReport errorReport, Consumer<T> consumer)
+      throws IOException {
+    this.read(sheetAt, true, errorReport, consumer);
+  }
+
+  private void read(
+      int sheetAt,
+      boolean ignoreCellValueException,
+      ImportErrorReport errorReport,
+      Consumer<T> consumer) throws IOException {
+    if (this.sourceFile == null) {
+      this.collect(sheetAt, ignoreCellValueException, errorReport, this.evaluator)
+          .forEach(consumer);
+      return;
+    }
+    this.readRows(
+        sheetAt,
+        rowNum,
+        ignoreCellValueException,
+        errorReport,
+        (data, currentRowNum) -> consumer.accept(data));
+  }
+
+  /**
+   * 从源文件流式读取并绑定，记录导入指标.
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param firstRowNum 开始读取的行号
+   * @param ignoreCellValueException 忽略单元格异常提示
+   * @param errorReport 错误汇总，为null时不收集
+   * @param consumer 每一行非空数据和行号的回调
+   * @throws IOException 读取文件的异常
+   */
+  private void readRows(
+      int sheetAt,
+      int firstRowNum,
+      boolean ignoreCellValueException,
+      ImportErrorReport errorReport,
+      ObjIntConsumer<T> consumer) throws IOException {
+    try (SheetReader sheetReader = this.openSheetReader()) {
+      this.readRows(
+          sheetReader,
+          sheetAt,
+          firstRowNum,
+          ignoreCellValueException,
+          errorReport,
+          consumer);
+    }
+  }
+
+  /**
+   * 使用已打开的读取器流式读取并绑定，记录导入指标.
+   *
+   * @param sheetReader 读取器，由调用方关闭
+   * @param sheetAt sheet的序列号 0开始
+   * @param firstRowNum 开始读取的行号
+   * @param ignoreCellValueException 忽略单元格异常提示
+   * @param errorReport 错误汇总，为null时不收集
+   * @param consumer 每一行非空数据和行号的回调
+   * @throws IOException 读取文件的异常
+   */
+  private void readRows(
+      SheetReader sheetReader,
+      int sheetAt,
+      int firstRowNum,
+      boolean ignoreCellValueException,
+      ImportErrorReport errorReport,
+      ObjIntConsumer<T> consumer) throws IOException {
+    ExcelImportMetrics metrics = ExcelImportMetrics.start(
+        fileName,
+        sheetAt,
+        true,
+        0);
+    long[] handlerNanos = new long[1];
+    boolean successful = false;
+    try {
+      sheetReader.read(
+          sheetAt,
+          firstRowNum,
+          this.getRowBinder()
+              .getColumnCount(),
+          (currentRowNum, values) -> {
+            long handlerStart = (metrics == null) ? 0 : System.nanoTime();
+            T data = this.bindRow(
+                currentRowNum,
+                values,
+                ignoreCellValueException,
+                errorReport,
+                metrics);
+            if (data != null) {
+              long consumeStart = (metrics == null) ? 0 : System.nanoTime();
+              consumer.accept(data, currentRowNum);
+              if (metrics != null) {
+                metrics.row(System.nanoTime() - consumeStart);
+              }
+            }
+            if (metrics != null) {
+              handlerNanos[0] += System.nanoTime() - handlerStart;
+            }
+          });
+      successful = true;
+    } finally {
+      if (metrics != null) {
+        metrics.finish(successful, handlerNanos[0]);
+      }
+    }
+  }
+
+  /**
+   * 按批次读取第一个sheet页的数据.
+   *
+   * @param batchSize 每批的行数
+   * @param consumer 每一批数据的回调
+   * @throws IOException 读取文件的异常
+   * @see #forEachBatch(int, boolean, int, Consumer)
+   */
+  public void forEachBatch(int batchSize, Consumer<List<T>> consumer) throws IOException {
+    this.forEachBatch(
+        0,
+        false,
+        batchSize,
+        consumer);
+  }
+
+  /**
+   * 按批次读取数据.
+   *
+   * <p>每满 batchSize 行回调一次，最后一批可能不足 batchSize 行. 流式构建时内存中只保留一批数据
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @param batchSize 每批的行数
+   * @param consumer 每一批数据的回调，每批都是新的列表
+   * @throws IOException 读取文件的异常
+   */
+  public void forEachBatch(
+      int sheetAt, boolean ignoreCellValueException, int batchSize, Consumer<List<T>> consumer)
+      throws IOException {
+    this.forEachBatch(sheetAt, ignoreCellValueException, batchSize, () -> { }, consumer);
+  }
+
+  /**
+   * 按批次读取数据，每一行加入批次之前回调 beforeRow.
+   *
+   * <p>beforeRow 抛出异常时停止读取，未满的一批不再回调
+   */
+  void forEachBatch(
+      int sheetAt,
+      boolean ignoreCellValueException,
+      int batchSize,
+      Runnable beforeRow,
+      Consumer<List<T>> consumer) throws IOException {
+    if (batchSize < 1) {
+      throw new MobeServiceException("batchSize不能小于1");
+    }
+    AtomicReference<List<T>> batch = new AtomicReference<>(
+        Lists.newArrayListWithExpectedSize(batchSize));
+    this.read(
+        sheetAt,
+        ignoreCellValueException,
+        data -> {
+          beforeRow.run();
+          List<T> rows = batch.get();
+          rows.add(data);
+          if (rows.size() >= batchSize) {
+            consumer.accept(rows);
+            batch.set(Lists.newArrayListWithExpectedSize(batchSize));
+          }
+        });
+    if (!batch.get()
+              .isEmpty()) {
+      consumer.accept(batch.get());
+    }
+  }
+
+  /**
+   * 按批次读取数据，每提交一批保存一次断点，失败后重新调用时从断点继续.
+   *
+   * <p>断点的key由源文件内容的 SHA-256、定义类名和 sheet 序列号组成，同一个文件重新上传后也能找到断点，
+   * 不同的定义类导入同一个文件时断点互不影响.
+   * consumer 正常返回后该批数据视为已提交，保存断点；consumer 抛出异常时不保存，重新导入时从该批开始.
+   * 有断点时直接从断点的行开始读取，之前的行只解析行号，不读取单元格、不绑定实体；csv 的表头仍从数据开始行的上一行读取.
+   * 全部读取完成后删除断点.
+   * 只支持流式构建的文件
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @param batchSize 每批的行数，也是保存断点的间隔
+   * @param checkpointStore 断点的存储
+   * @param consumer 每一批数据的回调，每批都是新的列表
+   * @return 本次和之前已提交的数据行数
+   * @throws IOException 读取文件或保存断点的异常
+   * @see ExcelUtil#buildStreaming(org.springframework.web.multipart.MultipartFile, Class)
+   */
+  public long readResumable(
+      int sheetAt,
+      boolean ignoreCellValueException,
+      int batchSize,
+      ImportCheckpointStore checkpointStore,
+      Consumer<List<T>> consumer) throws IOException {
+    if (batchSize < 1) {
+      throw new MobeServiceException("batchSize不能小于1");
+    }
+    if (this.sourceFile == null) {
+      throw new MobeServiceException("断点续传只支持流式读取的文件");
+    }
+    String sourceHash = Files.asByteSource(this.sourceFile)
+                             .hash(Hashing.sha256())
+                             .toString();
+    String key = sourceHash + "-" + definitionClass.getName() + "-" + sheetAt;
+    ImportCheckpoint checkpoint = checkpointStore.load(key);
+    if (checkpoint == null
+        || !sourceHash.equals(checkpoint.getSourceHash())
+        || checkpoint.getSheetAt() != sheetAt) {
+      checkpoint = new ImportCheckpoint(
+          sourceHash,
+          sheetAt,
+          rowNum,
+          0);
+    } else {
+      log.info(
+          "从断点继续导入，文件名 - {}，行号 - {}，已导入 - {}",
+          fileName,
+          checkpoint.getRowNum(),
+          checkpoint.getRowCount());
+    }
+
+    ResumableBatch batch = new ResumableBatch(
+        key,
+        checkpoint,
+        batchSize,
+        checkpointStore,
+        consumer);
+    try {
+      this.readRows(
+          sheetAt,
+          Math.max(rowNum, checkpoint.getRowNum()),
+          ignoreCellValueException,
+          null,
+          (data, currentRowNum) -> batch.add(currentRowNum, data));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    batch.commit();
+    checkpointStore.remove(key);
+    return checkpoint.getRowCount();
+  }
+
+  /**
+   * 逐行读取数据的迭代器，流式构建时在库内共用的线程池中读取.
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @return 非空行的迭代器，workbook 构建时关闭没有影响
+   * @see #iterator(int, boolean, Executor)
+   */
+  public CloseableIterator<T> iterator(int sheetAt, boolean ignoreCellValueException) {
+    return this.iterator(
+        sheetAt,
+        ignoreCellValueException,
+        StreamingRowIterator.DEFAULT_EXECUTOR);
+  }
+
+  /**
+   * 逐行读取数据的迭代器.
+   *
+   * <p>workbook 中的行在迭代时才绑定；流式构建时读取任务在 executor 中执行，通过有界队列交给调用方.
+   * 读取任务持有打开的文件并占用一个线程直到读完，提前结束迭代时必须关闭返回的迭代器，
+   * 建议使用 try-with-resources.
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @param executor 执行读取任务的线程池，流式构建时使用
+   * @return 非空行的迭代器，workbook 构建时关闭没有影响
+   */
+  public CloseableIterator<T> iterator(
+      int sheetAt, boolean ignoreCellValueException, Executor executor) {
+    if (this.sourceFile != null) {
+      return new StreamingRowIterator<>(
+          StreamingRowIterator.DEFAULT_CAPACITY,
+          consumer -> this.read(sheetAt, ignoreCellValueException, consumer),
+          executor);
+    }
+    Sheet sheet = workbook.getSheetAt(sheetAt);
+    int lastRowNum = sheet.getLastRowNum();
+    return new CloseableIterator<T>() {
+      private int currentRowNum = rowNum;
+      private T next;
+
+      @Override
+      public boolean hasNext() {
+        while (next == null && currentRowNum <= lastRowNum) {
+          Row row = sheet.getRow(currentRowNum++);
+          if (isNotEmpty(row)) {
+            next = bindRow(row, evaluator, ignoreCellValueException, null, null);
           }
-          throw e;
         }
-        if (log.isDebugEnabled()) {
-          log.debug(
-              "row - {}, cell - {}, cellType - {}, cellValue - {}",
-              rowNum,
-              cell.getColumnIndex(),
-              cell.getCellType(),
-              cellValue);
+        return next != null;
+      }
+
+      @Override
+      public T next() {
+        if (!this.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        T data = next;
+        next = null;
+        return data;
+      }
+
+      @Override
+      public void close() {
+        currentRowNum = lastRowNum + 1;
+        next = null;
+      }
+    };
+  }
+
+  /**
+   * 逐行读取数据的流.
+   *
+   * <p>流式构建时需要关闭返回的流，建议使用 try-with-resources
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @return 非空行的顺序流
+   * @see #iterator(int, boolean)
+   */
+  public Stream<T> stream(int sheetAt, boolean ignoreCellValueException) {
+    return this.stream(
+        sheetAt,
+        ignoreCellValueException,
+        StreamingRowIterator.DEFAULT_EXECUTOR);
+  }
+
+  /**
+   * 逐行读取数据的流，流式构建时在 executor 中读取.
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @param executor 执行读取任务的线程池，流式构建时使用
+   * @return 非空行的顺序流，需要关闭
+   * @see #iterator(int, boolean, Executor)
+   */
+  public Stream<T> stream(int sheetAt, boolean ignoreCellValueException, Executor executor) {
+    CloseableIterator<T> iterator = this.iterator(sheetAt, ignoreCellValueException, executor);
+    Stream<T> stream = StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            iterator,
+            Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+    return stream.onClose(iterator::close);
+  }
+
+  /**
+   * 按源文件类型打开流式读取.
+   *
+   * @return xls 使用记录事件读取，csv 按文本解析，其余使用 SAX 读取
+   * @throws IOException 打开文件的异常
+   */
+  private SheetReader openSheetReader() throws IOException {
+    if (this.fileFormat == ExcelFileFormat.XLS) {
+      return new XlsSheetReader(this.sourceFile);
+    } else if (this.fileFormat == ExcelFileFormat.CSV) {
+      return new CsvSheetReader(
+          this.sourceFile,
+          null,
+          this.columnNames(),
+          this.rowNum - 1);
+    }
+    return new XlsxSheetReader(
+        this.sourceFile,
+        this.sharedStringsCacheSize);
+  }
+
+  /**
+   * 列名称对应的列序号，csv 按表头名称对应列时使用.
+   *
+   * @return 表头名称对应的列序号
+   */
+  private Map<String, Integer> columnNames() {
+    Map<String, Integer> columnNames = newHashMapWithExpectedSize(this.annotationFields.size());
+    for (Object[] annotationField : this.annotationFields) {
+      String name = (String) annotationField[2];
+      if (isNotEmpty(name)) {
+        columnNames.put(
+            name.trim(),
+            (Integer) annotationField[0]);
+      }
+    }
+    return columnNames;
+  }
+
+  /**
+   * 将一行单元格原始值绑定到实体类.
+   *
+   * @param currentRowNum 行号，0开始
+   * @param values 按列序号存放的单元格原始值
+   * @param ignoreCellValueException 忽略单元格异常提示
+   * @param errorReport 错误汇总，为null时不收集
+   * @param metrics 导入指标，为null时不记录
+   * @return 空行返回null
+   */
+  private T bindRow(
+      int currentRowNum,
+      Object[] values,
+      boolean ignoreCellValueException,
+      ImportErrorReport errorReport,
+      ExcelImportMetrics metrics) {
+    // 用于判断当前行是否为空行，如果是空行，不作为数据
+    boolean isEmptyRow = true;
+    long bindStart = (metrics == null) ? 0 : System.nanoTime();
+    RowBinder<T> rowBinder = this.getRowBinder();
+    T data = rowBinder.newInstance();
+    if (metrics != null) {
+      metrics.bind(System.nanoTime() - bindStart);
+    }
+    for (int i = 0; i < rowBinder.size(); i++) {
+      int columnIndex = rowBinder.columnIndex(i);
+      Object value = values[columnIndex];
+      if (value == null) {
+        continue;
+      }
+      isEmptyRow = false;
+      if (value instanceof Double && rowBinder.isPrimitiveNumeric(i)) {
+        // 基本类型的数字字段直接赋值，不经过转换器
+        this.bindNumeric(i, data, (Double) value, metrics);
+        continue;
+      }
+      // 获取单元格值
+      Object cellValue;
+      long convertStart = (metrics == null) ? 0 : System.nanoTime();
+      try {
+        cellValue = rowBinder.converter(i)
+                             .convert(value);
+      } catch (IllegalArgumentException | IllegalStateException | DateTimeException e) {
+        if (metrics != null) {
+          metrics.error();
         }
-        if (isNotEmpty(cellValue)) {
-          // set 值
-          ((Method) annotationField[1]).invoke(data, cellValue);
+        if (errorReport != null) {
+          errorReport.add(
+              currentRowNum,
+              columnIndex,
+              rowBinder.fieldName(i),
+              value,
+              rowBinder.fieldType(i));
+          continue;
         }
+        // 如果忽略异常提示，则不设置dto数据
+        if (ignoreCellValueException) {
+          continue;
+        }
+        throw ExcelUtil.cellValueFormatException(currentRowNum, columnIndex, e);
       }
-      if (!isEmptyRow) {
-        importData.add(data);
-      } else {
-        if (log.isDebugEnabled()) {
-          log.debug("row - {} is empty", rowNum);
+      if (metrics != null) {
+        metrics.cell(value, System.nanoTime() - convertStart);
+      }
+      if (isNotEmpty(cellValue)) {
+        // set 值
+        bindStart = (metrics == null) ? 0 : System.nanoTime();
+        rowBinder.set(i, data, cellValue);
+        if (metrics != null) {
+          metrics.bind(System.nanoTime() - bindStart);
         }
       }
     }
-    return importData;
+    if (isEmptyRow) {
+      if (log.isDebugEnabled()) {
+        log.debug("row - {} is empty", currentRowNum);
+      }
+      return null;
+    }
+    return data;
+  }
+
+  /**
+   * 数字单元格的值写入基本类型字段.
+   *
+   * @param i 字段序号
+   * @param data 实体
+   * @param value 单元格的数值
+   * @param metrics 导入指标，为null时不记录
+   */
+  private void bindNumeric(int i, T data, double value, ExcelImportMetrics metrics) {
+    if (metrics == null) {
+      rowBinder.setNumeric(i, data, value);
+      return;
+    }
+    long bindStart = System.nanoTime();
+    rowBinder.setNumeric(i, data, value);
+    long elapsed = System.nanoTime() - bindStart;
+    metrics.cell(CellType.NUMERIC, false, 0);
+    metrics.bind(elapsed);
   }
 
   /**
@@ -155,9 +1028,25 @@ public class ExcelDetail<T extends AbstractExcelDefinition> {
     workbook.setPrintArea(sheetIndex, startx, endx, starty, endy);
   }
 
+  /**
+   * 创建workbook的样式缓存，相同属性的样式只创建一次.
+   *
+   * <p>每次调用都读取workbook当前的样式创建新的缓存，使用期间不要直接修改workbook中的样式
+   *
+   * @return 如果workbook为空，返回null
+   */
+  public CellStyleRegistry getCellStyleRegistry() {
+    if (this.workbook == null) {
+      return null;
+    }
+    return new CellStyleRegistry(this.workbook);
+  }
+
   /**
    * 获取workbook的输入流.
    *
+   * <p>整个文件保存在内存中，大文件使用 {@link #writeTo(OutputStream)} 或 {@link #openInputStream()}
+   *
    * @return 如果workbook不为空，返回workbook对应的字节输入流，否则返回null
    * @throws IOException io exception
    */
@@ -165,8 +1054,148 @@ public class ExcelDetail<T extends AbstractExcelDefinition> {
     if (this.workbook == null) {
       return null;
     }
-    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    WorkbookByteArrayOutputStream os = new WorkbookByteArrayOutputStream();
     this.workbook.write(os);
-    return new ByteArrayInputStream(os.toByteArray());
+    return os.toInputStream();
+  }
+
+  /**
+   * 将workbook写入输出流，不经过中间缓冲.
+   *
+   * @param outputStream 输出流，如 servlet 响应的输出流，由调用方关闭
+   * @throws IOException io exception
+   */
+  public void writeTo(OutputStream outputStream) throws IOException {
+    if (this.workbook == null) {
+      throw new MobeServiceException("workbook为空");
+    }
+    this.workbook.write(outputStream);
+  }
+
+  /**
+   * 将workbook写入通道.
+   *
+   * @param channel 通道，由调用方关闭
+   * @throws IOException io exception
+   * @see #writeTo(OutputStream)
+   */
+  public void writeTo(WritableByteChannel channel) throws IOException {
+    OutputStream outputStream = new BufferedOutputStream(
+        Channels.newOutputStream(channel),
+        PipedWorkbookInputStream.DEFAULT_BUFFER_SIZE);
+    this.writeTo(outputStream);
+    // 不关闭，避免关闭调用方的通道
+    outputStream.flush();
+  }
+
+  /**
+   * 打开边写边读的workbook输入流.
+   *
+   * <p>workbook 在单独的线程中写入，内存中只保留管道缓冲区. 读取完成前不能修改或关闭workbook，
+   * 写入失败时读到流末尾后抛出异常
+   *
+   * @return 如果workbook不为空，返回workbook对应的输入流，否则返回null
+   * @throws IOException io exception
+   */
+  public InputStream openInputStream() throws IOException {
+    if (this.workbook == null) {
+      return null;
+    }
+    return new PipedWorkbookInputStream(
+        this.workbook,
+        PipedWorkbookInputStream.DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * 关闭workbook，删除流式读取和导出的临时文件.
+   *
+   * @throws IOException io exception
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.workbook instanceof XSSFWorkbook
+        && ((XSSFWorkbook) this.workbook).getPackage()
+                                         .getPackageAccess() == PackageAccess.READ) {
+      // 只读打开的文件不能保存，直接释放
+      ((XSSFWorkbook) this.workbook).getPackage()
+                                    .revert();
+    } else if (this.workbook != null) {
+      this.workbook.close();
+      if (this.workbook instanceof SXSSFWorkbook) {
+        ((SXSSFWorkbook) this.workbook).dispose();
+      }
+    }
+    if (this.temporarySourceFile && this.sourceFile != null && !this.sourceFile.delete()) {
+      log.warn("临时文件删除失败 - {}", this.sourceFile);
+    }
+    if (this.temporaryWorkbookFile != null && !this.temporaryWorkbookFile.delete()) {
+      log.warn("临时文件删除失败 - {}", this.temporaryWorkbookFile);
+    }
+  }
+
+  /**
+   * 可恢复导入的当前批次，提交后更新并保存断点.
+   */
+  private final class ResumableBatch {
+
+    private final String key;
+    private final ImportCheckpoint checkpoint;
+    private final int batchSize;
+    private final ImportCheckpointStore checkpointStore;
+    private final Consumer<List<T>> consumer;
+    private List<T> rows;
+    private int lastRowNum;
+
+    ResumableBatch(
+        String key,
+        ImportCheckpoint checkpoint,
+        int batchSize,
+        ImportCheckpointStore checkpointStore,
+        Consumer<List<T>> consumer) {
+      this.key = key;
+      this.checkpoint = checkpoint;
+      this.batchSize = batchSize;
+      this.checkpointStore = checkpointStore;
+      this.consumer = consumer;
+      this.rows = Lists.newArrayListWithExpectedSize(batchSize);
+    }
+
+    void add(int currentRowNum, T data) {
+      this.rows.add(data);
+      this.lastRowNum = currentRowNum;
+      if (this.rows.size() >= this.batchSize) {
+        try {
+          this.commit();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+
+    void commit() throws IOException {
+      if (this.rows.isEmpty()) {
+        return;
+      }
+      this.consumer.accept(this.rows);
+      this.checkpoint.setRowNum(this.lastRowNum + 1);
+      this.checkpoint.setRowCount(this.checkpoint.getRowCount() + this.rows.size());
+      this.checkpointStore.save(
+          this.key,
+          this.checkpoint);
+      this.rows = Lists.newArrayListWithExpectedSize(this.batchSize);
+    }
+  }
+
+  /**
+   * 直接使用内部数组构建输入流，避免 toByteArray 的复制.
+   */
+  private static final class WorkbookByteArrayOutputStream extends ByteArrayOutputStream {
+
+    private ByteArrayInputStream toInputStream() {
+      return new ByteArrayInputStream(
+          this.buf,
+          0,
+          this.count);
+    }
   }
 }
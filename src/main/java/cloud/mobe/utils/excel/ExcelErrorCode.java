@@ -0,0 +1,44 @@
+package cloud.mobe.utils.excel;
+
+import cloud.mobe.utils.exception.ErrorCode;
+
+/**
+ * Excel导入导出的错误码.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 20:20
+ */
+public enum ExcelErrorCode implements ErrorCode {
+  /** 单元格数据格式错误，参数为行号、列号，1开始. */
+  CELL_VALUE_FORMAT("EXCEL_CELL_VALUE_FORMAT", "数据格式错误：第%s行，第%s列"),
+  /** 表格头位置错误. */
+  HEADER_INDEX("EXCEL_HEADER_INDEX", "[ExcelFile.headerIndex()]表格头位置不能小于1"),
+  /** 不支持的文件格式，参数为文件名. */
+  UNSUPPORTED_FORMAT("EXCEL_UNSUPPORTED_FORMAT", "不支持的文件格式：%s"),
+  /** 文件后缀和内容不一致. */
+  FORMAT_MISMATCH("EXCEL_FORMAT_MISMATCH", "文件后缀和内容不统一"),
+  /** csv 文件不能构建workbook，参数为文件名. */
+  CSV_REQUIRES_STREAMING(
+      "EXCEL_CSV_REQUIRES_STREAMING",
+      "csv 文件请使用 ExcelUtil.buildStreaming 读取：%s"),
+  /** 导入任务的线程池和等待队列已满. */
+  IMPORT_BUSY("EXCEL_IMPORT_BUSY", "导入任务过多，请稍后再试");
+
+  private final String code;
+  private final String messagePattern;
+
+  ExcelErrorCode(String code, String messagePattern) {
+    this.code = code;
+    this.messagePattern = messagePattern;
+  }
+
+  @Override
+  public String getCode() {
+    return code;
+  }
+
+  @Override
+  public String getMessagePattern() {
+    return messagePattern;
+  }
+}
@@ -0,0 +1,40 @@
+package cloud.mobe.utils.excel;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Excel导出配置.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 13:20
+ */
+@Getter
+@Setter
+public class ExcelExportOptions {
+
+  /** 内存中保留的行数，超出的行写入临时文件. */
+  private int rowAccessWindowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+  /** 是否压缩临时文件. */
+  private boolean compressTempFiles = true;
+  /**
+   * 并行生成行数据的任务数.
+   *
+   * <p>大于1时调用线程按块提交数据，由 {@link #renderExecutor} 调用 get 方法生成单元格值，调用线程按顺序写入.
+   * 适合 get 方法计算较多的实体，get 方法需要能在其他线程中调用
+   */
+  private int renderParallelism = 1;
+  /** 并行生成时每块的行数. */
+  private int renderChunkSize = 1000;
+  /** 并行生成行数据的线程池，为null时使用 {@link ForkJoinPool#commonPool()}. */
+  private Executor renderExecutor;
+  /** 设置列宽的方式. */
+  private ColumnWidthStrategy columnWidthStrategy = ColumnWidthStrategy.FIXED;
+  /** 按 {@link ColumnWidthStrategy#SAMPLED} 估算列宽时采样的数据行数，取开头的行. */
+  private int columnWidthSampleSize = 1000;
+  /** 按 {@link ColumnWidthStrategy#SAMPLED} 估算的最大列宽，按字符数计算. */
+  private int maxColumnWidth = 60;
+}
@@ -0,0 +1,122 @@
+package cloud.mobe.utils.excel;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import org.apache.poi.poifs.filesystem.FileMagic;
+
+/**
+ * 按文件头识别的文件格式.
+ *
+ * <p>识别时只读取文件开头的字节，不依赖文件后缀，也不需要先解析失败再换一种格式.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 19:20
+ */
+public enum ExcelFileFormat {
+  /** Office 2007+ 的 zip 格式. */
+  XLSX,
+  /** Office 97-2003 的 OLE2 格式. */
+  XLS,
+  /** 纯文本，按 csv 读取，包括带 BOM 的 UTF-16 文本. */
+  CSV,
+  /** 空文件. */
+  EMPTY,
+  /** 无法识别. */
+  UNKNOWN;
+
+  /** 识别时读取的字节数. */
+  static final int HEADER_SIZE = 512;
+
+  /**
+   * 识别输入流的格式，读取后重置到开头.
+   *
+   * @param inputStream 支持 mark 的输入流，见 {@link FileMagic#prepareToCheckMagic(InputStream)}
+   * @return 文件格式
+   * @throws IOException 读取的异常
+   */
+  public static ExcelFileFormat detect(InputStream inputStream) throws IOException {
+    inputStream.mark(HEADER_SIZE);
+    try {
+      return detect(readHeader(inputStream));
+    } finally {
+      inputStream.reset();
+    }
+  }
+
+  /**
+   * 识别文件的格式.
+   *
+   * @param file 文件
+   * @return 文件格式
+   * @throws IOException 读取的异常
+   */
+  public static ExcelFileFormat detect(File file) throws IOException {
+    try (InputStream inputStream = new FileInputStream(file)) {
+      return detect(readHeader(inputStream));
+    }
+  }
+
+  /**
+   * 识别文件头的格式.
+   *
+   * @param header 文件开头的字节，长度即读到的字节数
+   * @return 文件格式
+   */
+  public static ExcelFileFormat detect(byte[] header) {
+    if (header.length == 0) {
+      return EMPTY;
+    }
+    FileMagic fileMagic = FileMagic.valueOf(header.length < 8
+                                            ? Arrays.copyOf(header, 8)
+                                            : header);
+    if (fileMagic == FileMagic.OOXML) {
+      return XLSX;
+    } else if (fileMagic == FileMagic.OLE2) {
+      return XLS;
+    } else if (fileMagic == FileMagic.UNKNOWN && (isUtf16Bom(header) || isText(header))) {
+      return CSV;
+    }
+    return UNKNOWN;
+  }
+
+  private static byte[] readHeader(InputStream inputStream) throws IOException {
+    byte[] header = new byte[HEADER_SIZE];
+    int length = 0;
+    while (length < HEADER_SIZE) {
+      int n = inputStream.read(header, length, HEADER_SIZE - length);
+      if (n < 0) {
+        break;
+      }
+      length += n;
+    }
+    return (length == HEADER_SIZE) ? header : Arrays.copyOf(header, length);
+  }
+
+  private static boolean isUtf16Bom(byte[] header) {
+    if (header.length < 2) {
+      return false;
+    }
+    int first = header[0] & 0xFF;
+    int second = header[1] & 0xFF;
+    return (first == 0xFF && second == 0xFE) || (first == 0xFE && second == 0xFF);
+  }
+
+  /**
+   * 不含控制字符的文本，非 ASCII 字节按 UTF-8、GBK 等多字节编码处理.
+   *
+   * @param header 文件头
+   * @return 是否为文本
+   */
+  private static boolean isText(byte[] header) {
+    for (byte b : header) {
+      int c = b & 0xFF;
+      if (c < 0x20 && c != '\t' && c != '\r' && c != '\n') {
+        return false;
+      }
+    }
+    return true;
+  }
+}
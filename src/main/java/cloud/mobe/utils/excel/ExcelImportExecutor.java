@@ -0,0 +1,221 @@
+package cloud.mobe.utils.excel;
+
+import cloud.mobe.utils.exception.MobeErrorCodeException;
+import cloud.mobe.utils.exception.MobeServiceException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 异步导入的线程池.
+ *
+ * <p>线程数和等待队列都有上限，队列已满时提交失败，抛出 {@link ExcelErrorCode#IMPORT_BUSY}，
+ * 同时上传的大文件不会占满服务器的线程和内存. 执行中的任务每读取一行之前检查是否已取消，
+ * 等待中的任务取消时从队列中移除，不再占用队列位置.
+ * 提交后 {@link ExcelDetail} 归任务所有，任务结束、取消或提交失败时关闭
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 22:30
+ */
+@Slf4j
+public class ExcelImportExecutor implements Closeable {
+
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * 创建线程池.
+   *
+   * @param threads 同时执行的导入任务数
+   * @param queueCapacity 等待执行的任务数上限
+   */
+  public ExcelImportExecutor(int threads, int queueCapacity) {
+    this.executor = new ThreadPoolExecutor(
+        threads,
+        threads,
+        60L,
+        TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        new ThreadFactoryBuilder().setNameFormat("mobe-excel-import-%d")
+                                  .setDaemon(true)
+                                  .build());
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * 异步读取sheet页的全部数据.
+   *
+   * @param excelDetail 构建的表格信息，任务结束后关闭
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @return 导入任务，结果为非空行的数据
+   * @see ExcelDetail#getData(int, boolean)
+   */
+  public <T extends AbstractExcelDefinition> ExcelImportJob<List<T>> submit(
+      ExcelDetail<T> excelDetail, int sheetAt, boolean ignoreCellValueException) {
+    return this.submit(
+        excelDetail,
+        sheetAt,
+        job -> {
+          List<T> data = new ArrayList<>();
+          forEachRow(excelDetail, sheetAt, ignoreCellValueException, job, data::add);
+          return data;
+        });
+  }
+
+  /**
+   * 异步按批次读取数据，适合流式构建的大文件.
+   *
+   * @param excelDetail 构建的表格信息，任务结束后关闭
+   * @param sheetAt sheet的序列号 0开始
+   * @param ignoreCellValueException 忽略单元格异常提示。忽略后，对应的字段为null
+   * @param batchSize 每批的行数
+   * @param consumer 每一批数据的回调，在线程池中调用. 取消后不再回调，未满的一批直接丢弃
+   * @return 导入任务，结果为数据行数，进度按批次更新
+   * @see ExcelDetail#forEachBatch(int, boolean, int, Consumer)
+   */
+  public <T extends AbstractExcelDefinition> ExcelImportJob<Long> submit(
+      ExcelDetail<T> excelDetail,
+      int sheetAt,
+      boolean ignoreCellValueException,
+      int batchSize,
+      Consumer<List<T>> consumer) {
+    if (batchSize < 1) {
+      throw new MobeServiceException("batchSize不能小于1");
+    }
+    return this.submit(
+        excelDetail,
+        sheetAt,
+        job -> {
+          excelDetail.forEachBatch(
+              sheetAt,
+              ignoreCellValueException,
+              batchSize,
+              job::checkCancelled,
+              batch -> {
+                consumer.accept(batch);
+                job.rowsProcessed(batch.size());
+              });
+          return job.getProcessedRows();
+        });
+  }
+
+  /**
+   * 不再接收新任务，已提交的任务继续执行.
+   */
+  @Override
+  public void close() {
+    this.executor.shutdown();
+  }
+
+  private <T extends AbstractExcelDefinition, R> ExcelImportJob<R> submit(
+      ExcelDetail<T> excelDetail, int sheetAt, ImportTask<R> task) {
+    ExcelImportJob<R> job = new ExcelImportJob<>();
+    Runnable command = () -> run(job, excelDetail, sheetAt, task);
+    job.setDequeue(() -> {
+      // 已经开始执行时移除失败，由 run 在下一行之前结束并关闭文件
+      if (!this.executor.remove(command)) {
+        return false;
+      }
+      closeQuietly(excelDetail);
+      return true;
+    });
+    try {
+      this.executor.execute(command);
+    } catch (RejectedExecutionException e) {
+      closeQuietly(excelDetail);
+      throw new MobeErrorCodeException(
+          ExcelErrorCode.IMPORT_BUSY,
+          e);
+    }
+    return job;
+  }
+
+  private static <T extends AbstractExcelDefinition, R> void run(
+      ExcelImportJob<R> job, ExcelDetail<T> excelDetail, int sheetAt, ImportTask<R> task) {
+    R result = null;
+    Throwable failure = null;
+    try {
+      if (!job.isCancelled()) {
+        job.start(estimateTotalRows(excelDetail, sheetAt));
+        result = task.run(job);
+      }
+    } catch (Throwable e) {
+      failure = e;
+    } finally {
+      // 先删除临时文件再完成 future，调用方拿到结果时资源已经释放
+      closeQuietly(excelDetail);
+    }
+    job.finish(result, failure);
+  }
+
+  /**
+   * 逐行读取，每行之前检查是否已取消. workbook 中的行在读取时才绑定
+   */
+  private static <T extends AbstractExcelDefinition> void forEachRow(
+      ExcelDetail<T> excelDetail,
+      int sheetAt,
+      boolean ignoreCellValueException,
+      ExcelImportJob<?> job,
+      Consumer<T> consumer) throws IOException {
+    Consumer<T> rowConsumer = data -> {
+      job.checkCancelled();
+      consumer.accept(data);
+      job.rowProcessed();
+    };
+    if (excelDetail.getSourceFile() != null) {
+      excelDetail.read(sheetAt, ignoreCellValueException, rowConsumer);
+      return;
+    }
+    job.checkCancelled();
+    try (CloseableIterator<T> iterator = excelDetail.iterator(sheetAt, ignoreCellValueException)) {
+      while (iterator.hasNext()) {
+        rowConsumer.accept(iterator.next());
+      }
+    }
+  }
+
+  /**
+   * 按 workbook 中sheet页最后一行的行号估算数据行数.
+   *
+   * @return 流式读取时返回-1
+   */
+  private static int estimateTotalRows(ExcelDetail<?> excelDetail, int sheetAt) {
+    if (excelDetail.getSourceFile() != null || excelDetail.getWorkbook() == null
+        || sheetAt >= excelDetail.getWorkbook()
+                                 .getNumberOfSheets()) {
+      return -1;
+    }
+    int lastRowNum = excelDetail.getWorkbook()
+                                .getSheetAt(sheetAt)
+                                .getLastRowNum();
+    return Math.max(lastRowNum - excelDetail.getRowNum() + 1, 0);
+  }
+
+  private static void closeQuietly(ExcelDetail<?> excelDetail) {
+    try {
+      excelDetail.close();
+    } catch (IOException | RuntimeException e) {
+      log.warn(
+          "关闭导入文件失败 - {}",
+          excelDetail.getFileName(),
+          e);
+    }
+  }
+
+  /**
+   * 在线程池中执行的读取.
+   */
+  @FunctionalInterface
+  private interface ImportTask<R> {
+
+    R run(ExcelImportJob<?> job) throws IOException;
+  }
+}
@@ -0,0 +1,153 @@
+package cloud.mobe.utils.excel;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 异步导入任务.
+ *
+ * <p>通过 {@link #getFuture()} 获取结果，读取过程中可以随时查询进度. 等待中的任务取消时立即从队列中移除并关闭文件，
+ * 执行中的任务在处理下一行前结束. future 在任务真正结束、文件关闭之后才以 {@link CancellationException} 完成
+ *
+ * @param <R> 导入结果
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 22:30
+ * @see ExcelImportExecutor
+ */
+public class ExcelImportJob<R> {
+
+  private final CompletableFuture<R> future = new CompletableFuture<>();
+  private volatile boolean cancelled;
+  /** 任务还在队列中时将其移除并释放资源，移除成功返回true. 提交前设置 */
+  private BooleanSupplier dequeue = () -> false;
+  /** 只由执行任务的线程修改. */
+  private volatile long processedRows;
+  private volatile int estimatedTotalRows = -1;
+  private volatile long startNanos;
+  private volatile long endNanos;
+
+  ExcelImportJob() {
+  }
+
+  /**
+   * 导入结果.
+   *
+   * @return 完成、失败或取消时完成的 future
+   */
+  public CompletableFuture<R> getFuture() {
+    return this.future;
+  }
+
+  /**
+   * 已处理的数据行数，不包括空行.
+   *
+   * @return 行数
+   */
+  public long getProcessedRows() {
+    return this.processedRows;
+  }
+
+  /**
+   * 按sheet页最后一行的行号估算的数据行数，包括空行.
+   *
+   * @return 行数，流式读取或尚未开始时返回-1
+   */
+  public int getEstimatedTotalRows() {
+    return this.estimatedTotalRows;
+  }
+
+  /**
+   * 开始后到现在或结束时的平均处理速度.
+   *
+   * @return 每秒处理的行数，尚未开始时返回0
+   */
+  public double getRowsPerSecond() {
+    long start = this.startNanos;
+    if (start == 0) {
+      return 0;
+    }
+    long end = (this.endNanos == 0) ? System.nanoTime() : this.endNanos;
+    long elapsed = Math.max(end - start, 1);
+    return this.processedRows * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+  }
+
+  /**
+   * 取消任务. 等待中的任务从队列中移除，执行中的任务在处理下一行前结束
+   *
+   * @return 因本次调用而取消时返回true，已完成或已取消时返回false
+   */
+  public boolean cancel() {
+    synchronized (this) {
+      if (this.cancelled || this.future.isDone()) {
+        return false;
+      }
+      this.cancelled = true;
+    }
+    if (this.dequeue.getAsBoolean()) {
+      this.finish(null, null);
+    }
+    return true;
+  }
+
+  /**
+   * 是否已取消.
+   *
+   * @return 是否已取消
+   */
+  public boolean isCancelled() {
+    return this.cancelled;
+  }
+
+  /**
+   * 是否已完成、失败或取消.
+   *
+   * @return 是否已结束
+   */
+  public boolean isDone() {
+    return this.future.isDone();
+  }
+
+  void start(int estimatedTotalRows) {
+    this.estimatedTotalRows = estimatedTotalRows;
+    this.startNanos = System.nanoTime();
+  }
+
+  /**
+   * 处理一行之前检查是否已取消.
+   *
+   * @throws CancellationException 已取消
+   */
+  void checkCancelled() {
+    if (this.cancelled) {
+      throw new CancellationException("导入任务已取消");
+    }
+  }
+
+  void rowProcessed() {
+    this.processedRows++;
+  }
+
+  void rowsProcessed(int rows) {
+    this.processedRows += rows;
+  }
+
+  void setDequeue(BooleanSupplier dequeue) {
+    this.dequeue = dequeue;
+  }
+
+  /**
+   * 任务结束后完成 future. 已取消时即使读取已经完成也以取消结束，与 {@link #cancel()} 的返回值一致
+   */
+  synchronized void finish(R result, Throwable failure) {
+    this.endNanos = System.nanoTime();
+    if (this.cancelled) {
+      this.future.cancel(false);
+    } else if (failure != null) {
+      this.future.completeExceptionally(failure);
+    } else {
+      this.future.complete(result);
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package cloud.mobe.utils.excel;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * 一次读取的各阶段耗时和计数.
+ *
+ * <p>每次 getData、read、forEachBatch、readResumable 读取一个sheet页时记录一份，结束后交给
+ * {@link ExcelImportMetricsListener}. 没有注册监听器时不创建、不计时. 耗时按纳秒计算:
+ * <ul>
+ *   <li>parse: 流式读取时解压和解析 XML、记录的时间</li>
+ *   <li>evaluate: 需要计算的公式单元格的读取时间，包括转换</li>
+ *   <li>convert: 其余单元格读取并转换为字段类型的时间</li>
+ *   <li>bind: 创建实体和调用 set 方法的时间</li>
+ *   <li>consume: 调用方回调的时间</li>
+ * </ul>
+ * 非线程安全，由读取的线程记录
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 22:50
+ */
+@Getter
+@Slf4j
+public class ExcelImportMetrics {
+
+  private static final List<ExcelImportMetricsListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+  static {
+    for (ExcelImportMetricsListener listener
+        : ServiceLoader.load(ExcelImportMetricsListener.class)) {
+      LISTENERS.add(listener);
+    }
+  }
+
+  /** 文件名称. */
+  private final String fileName;
+  /** sheet的序列号 0开始. */
+  private final int sheetAt;
+  /** 是否流式读取. */
+  private final boolean streaming;
+  /** workbook 方式构建时打开文件、解析为对象模型的时间，流式读取时为0. */
+  private final long workbookOpenNanos;
+  private long parseNanos;
+  private long evaluateNanos;
+  private long convertNanos;
+  private long bindNanos;
+  private long consumeNanos;
+  private long totalNanos;
+  /** 非空的数据行数. */
+  private long rowCount;
+  /** 计算的公式数量. */
+  private long evaluatedFormulaCount;
+  /** 转换失败的单元格数量，包括忽略的. */
+  private long errorCount;
+  /** 读取线程分配的内存，JVM 不支持时为-1. */
+  private long allocatedBytes = -1;
+  /** 读取是否成功. */
+  private boolean successful;
+  @Getter(AccessLevel.NONE)
+  private final long[] cellCounts = new long[CellType.values().length];
+  @Getter(AccessLevel.NONE)
+  private final long startNanos;
+  @Getter(AccessLevel.NONE)
+  private final long startAllocatedBytes;
+
+  private ExcelImportMetrics(
+      String fileName, int sheetAt, boolean streaming, long workbookOpenNanos) {
+    this.fileName = fileName;
+    this.sheetAt = sheetAt;
+    this.streaming = streaming;
+    this.workbookOpenNanos = workbookOpenNanos;
+    this.startAllocatedBytes = allocatedBytes();
+    this.startNanos = System.nanoTime();
+  }
+
+  /**
+   * 注册监听器.
+   *
+   * @param listener 监听器
+   */
+  public static void addListener(ExcelImportMetricsListener listener) {
+    LISTENERS.add(listener);
+  }
+
+  /**
+   * 移除监听器.
+   *
+   * @param listener 监听器
+   */
+  public static void removeListener(ExcelImportMetricsListener listener) {
+    LISTENERS.remove(listener);
+  }
+
+  /**
+   * 开始记录一次读取.
+   *
+   * @return 没有监听器时返回null，调用方据此跳过全部计时
+   */
+  static ExcelImportMetrics start(
+      String fileName, int sheetAt, boolean streaming, long workbookOpenNanos) {
+    if (LISTENERS.isEmpty()) {
+      return null;
+    }
+    return new ExcelImportMetrics(
+        fileName,
+        sheetAt,
+        streaming,
+        workbookOpenNanos);
+  }
+
+  /**
+   * 某种类型的单元格数量. 流式读取时日期计为数字，公式按缓存结果的类型计算
+   *
+   * @param cellType 单元格类型
+   * @return 数量
+   */
+  public long getCellCount(CellType cellType) {
+    return this.cellCounts[cellType.ordinal()];
+  }
+
+  /**
+   * 各类型的单元格数量.
+   *
+   * @return 单元格类型 - 数量，不包括数量为0的类型
+   */
+  public Map<CellType, Long> getCellCounts() {
+    Map<CellType, Long> counts = new EnumMap<>(CellType.class);
+    for (CellType cellType : CellType.values()) {
+      if (this.cellCounts[cellType.ordinal()] > 0) {
+        counts.put(cellType, this.cellCounts[cellType.ordinal()]);
+      }
+    }
+    return counts;
+  }
+
+  void cell(CellType cellType, boolean evaluated, long nanos) {
+    this.cellCounts[cellType.ordinal()]++;
+    if (evaluated) {
+      this.evaluatedFormulaCount++;
+      this.evaluateNanos += nanos;
+    } else {
+      this.convertNanos += nanos;
+    }
+  }
+
+  /**
+   * 流式读取的单元格原始值.
+   */
+  void cell(Object value, long nanos) {
+    CellType cellType;
+    if (value instanceof String) {
+      cellType = CellType.STRING;
+    } else if (value instanceof Boolean) {
+      cellType = CellType.BOOLEAN;
+    } else if (value instanceof Byte) {
+      cellType = CellType.ERROR;
+    } else {
+      cellType = CellType.NUMERIC;
+    }
+    this.cell(cellType, false, nanos);
+  }
+
+  void error() {
+    this.errorCount++;
+  }
+
+  void bind(long nanos) {
+    this.bindNanos += nanos;
+  }
+
+  void row(long consumeNanos) {
+    this.rowCount++;
+    this.consumeNanos += consumeNanos;
+  }
+
+  /**
+   * 结束记录并回调监听器，监听器的异常只记录日志.
+   *
+   * @param successful 读取是否成功
+   * @param handlerNanos 流式读取时行回调的总时间，其余为解析时间；workbook 方式为0
+   */
+  void finish(boolean successful, long handlerNanos) {
+    this.totalNanos = System.nanoTime() - this.startNanos;
+    if (this.streaming) {
+      this.parseNanos = Math.max(this.totalNanos - handlerNanos, 0);
+    }
+    if (this.startAllocatedBytes >= 0) {
+      this.allocatedBytes = allocatedBytes() - this.startAllocatedBytes;
+    }
+    this.successful = successful;
+    for (ExcelImportMetricsListener listener : LISTENERS) {
+      try {
+        listener.onImportCompleted(this);
+      } catch (RuntimeException e) {
+        log.warn(
+            "导入指标监听器异常 - {}",
+            listener,
+            e);
+      }
+    }
+  }
+
+  /**
+   * 当前线程已分配的内存.
+   *
+   * @return JVM 不支持时返回-1
+   */
+  private static long allocatedBytes() {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    if (threadBean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+      if (sunThreadBean.isThreadAllocatedMemorySupported()
+          && sunThreadBean.isThreadAllocatedMemoryEnabled()) {
+        return sunThreadBean.getThreadAllocatedBytes(Thread.currentThread()
+                                                           .getId());
+      }
+    }
+    return -1;
+  }
+}
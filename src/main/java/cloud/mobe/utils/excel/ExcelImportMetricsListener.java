@@ -0,0 +1,22 @@
+package cloud.mobe.utils.excel;
+
+/**
+ * 导入指标的监听器.
+ *
+ * <p>通过 {@link ExcelImportMetrics#addListener(ExcelImportMetricsListener)} 注册，
+ * 或在 {@code META-INF/services/cloud.mobe.utils.excel.ExcelImportMetricsListener} 中声明实现类.
+ * 没有监听器时导入过程不记录任何指标
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 22:50
+ */
+@FunctionalInterface
+public interface ExcelImportMetricsListener {
+
+  /**
+   * 一次读取结束后回调，在读取的线程中调用，失败时也会回调.
+   *
+   * @param metrics 本次读取的指标
+   */
+  void onImportCompleted(ExcelImportMetrics metrics);
+}
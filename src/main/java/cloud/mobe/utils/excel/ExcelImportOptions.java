@@ -0,0 +1,37 @@
+package cloud.mobe.utils.excel;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Excel导入配置.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 18:10
+ */
+@Getter
+@Setter
+public class ExcelImportOptions {
+
+  /** 公式单元格的读取方式. */
+  private FormulaMode formulaMode = FormulaMode.EVALUATE;
+  /**
+   * 流式读取 xlsx 时共享字符串表在内存中缓存的字符串数量.
+   *
+   * <p>为0时共享字符串表全部读入内存；大于0时存放在磁盘临时文件，内存占用与文件中不同字符串的数量无关，
+   * 适合文本很多的大文件. 只对 {@link ExcelUtil#buildStreaming} 生效，workbook 方式读取时始终全部读入内存
+   */
+  private int sharedStringsCacheSize;
+
+  /**
+   * 公式单元格的读取方式.
+   */
+  public enum FormulaMode {
+    /** 每个公式单元格都重新计算. */
+    EVALUATE,
+    /** 读取文件中缓存的计算结果，没有缓存结果时再计算. */
+    CACHED,
+    /** 只读取缓存的计算结果，不创建公式计算器. */
+    CACHED_ONLY
+  }
+}
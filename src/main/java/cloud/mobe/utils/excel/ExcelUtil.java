@@ -5,26 +5,56 @@ import static cloud.mobe.utils.CheckEmptyUtil.isNotEmpty;
 import static com.google.common.collect.Lists.newArrayListWithExpectedSize;
 import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
 import static java.util.Collections.EMPTY_LIST;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
 
+import cloud.mobe.utils.excel.ExcelImportOptions.FormulaMode;
 import cloud.mobe.utils.excel.annotation.ExcelColumn;
 import cloud.mobe.utils.excel.annotation.ExcelFile;
 import cloud.mobe.utils.excel.annotation.ExcelHeader;
+import cloud.mobe.utils.excel.convert.CellValueConverter;
+import cloud.mobe.utils.excel.convert.CellValueConverters;
 import cloud.mobe.utils.excel.dto.ExcelItemAnnotationInfo;
 import cloud.mobe.utils.excel.dto.ExcelStructureInfo;
 import cloud.mobe.utils.excel.dto.ExcelStructureInfo.DataField;
 import cloud.mobe.utils.excel.dto.ExcelStructureInfo.HeaderField;
+import cloud.mobe.utils.excel.reader.DateFormatCache;
+import cloud.mobe.utils.excel.writer.CellStyleRegistry;
+import cloud.mobe.utils.excel.writer.CsvSheetWriter;
+import cloud.mobe.utils.excel.writer.ExcelSheetWriter;
+import cloud.mobe.utils.exception.MobeErrorCodeException;
 import cloud.mobe.utils.exception.MobeServiceException;
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.poifs.filesystem.OfficeXmlFileException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
@@ -37,6 +67,8 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -59,44 +91,590 @@ public class ExcelUtil {
    */
   public static <T extends AbstractExcelDefinition> ExcelDetail<T> build(
       MultipartFile file, Class<T> definitionClass) throws IOException {
+    return build(
+        file,
+        definitionClass,
+        new ExcelImportOptions());
+  }
+
+  /**
+   * 从文件构建workbook.
+   *
+   * @param file 传入的文件，如果文件是空，数据则为空
+   * @param definitionClass 传入文件对应的Class实体映射
+   * @param options 导入配置
+   * @return 构建的表格信息
+   * @throws IOException 输入流的异常
+   * @throws MobeErrorCodeException 文件内容为 csv 时抛出 {@link ExcelErrorCode#CSV_REQUIRES_STREAMING}，
+   *     csv 使用 {@link #buildStreaming(MultipartFile, Class)} 读取
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> build(
+      MultipartFile file, Class<T> definitionClass, ExcelImportOptions options)
+      throws IOException {
     ExcelDetail<T> excelDetail = build(definitionClass);
+    long startNanos = System.nanoTime();
 
     Workbook workbook;
     if (file != null) {
       String fileName = file.getOriginalFilename();
       fileName = isEmpty(fileName) ? "" : fileName.trim();
       excelDetail.setFileName(fileName);
-      String fileNameLower = fileName.toLowerCase();
-
-      try {
-        if (fileNameLower.endsWith(".xlsx")) {
-          workbook = new XSSFWorkbook(file.getInputStream());
-        } else if (fileNameLower.endsWith(".xls")) {
-          workbook = new HSSFWorkbook(file.getInputStream());
-        } else {
-          workbook = new XSSFWorkbook();
-          log.warn(
-              "未知的文件类型，文件名 - {}",
-              fileName);
+
+      // 按文件头识别格式，不依赖文件后缀
+      try (InputStream inputStream = FileMagic.prepareToCheckMagic(file.getInputStream())) {
+        ExcelFileFormat fileFormat = ExcelFileFormat.detect(inputStream);
+        excelDetail.setFileFormat(fileFormat);
+        switch (fileFormat) {
+          case XLSX:
+            workbook = new XSSFWorkbook(inputStream);
+            break;
+          case XLS:
+            workbook = new HSSFWorkbook(inputStream);
+            break;
+          case CSV:
+            // csv 没有对象模型，需要转存后流式读取，调用方要负责关闭
+            log.warn(
+                "csv 文件需要使用 ExcelUtil.buildStreaming 读取，文件名 - {}",
+                fileName);
+            throw new MobeErrorCodeException(
+                ExcelErrorCode.CSV_REQUIRES_STREAMING,
+                fileName);
+          case EMPTY:
+            workbook = new XSSFWorkbook();
+            log.warn(
+                "读入文件为空，文件名 - {}",
+                fileName);
+            break;
+          default:
+            throw unsupportedFormatException(fileFormat, fileName);
         }
-      } catch (OfficeXmlFileException e) {
-        log.warn(
-            "文件类型错误 - {}",
-            e.getMessage(),
-            e);
-        throw new MobeServiceException("文件后缀和内容不统一");
       }
     } else {
       workbook = new XSSFWorkbook();
       excelDetail.setFileName("");
       log.warn("读入文件流为空");
     }
+    setWorkbook(
+        excelDetail,
+        workbook,
+        options,
+        startNanos);
+    return excelDetail;
+  }
+
+  /**
+   * 从磁盘文件构建workbook.
+   *
+   * <p>xlsx 以只读方式打开 zip 文件，按需随机读取，不会把整个文件复制到内存；xls 直接读取文件；
+   * csv 不构建workbook，按流式读取. 读取完成后需调用 {@link ExcelDetail#close()} 释放文件
+   *
+   * @param file 磁盘文件，按文件头区分 xlsx 和 xls
+   * @param definitionClass 传入文件对应的Class实体映射
+   * @return 构建的表格信息
+   * @throws IOException 读取文件的异常
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> build(
+      File file, Class<T> definitionClass) throws IOException {
+    return build(
+        file,
+        definitionClass,
+        new ExcelImportOptions());
+  }
+
+  /**
+   * 从磁盘文件构建workbook.
+   *
+   * @param file 磁盘文件，按文件头区分 xlsx 和 xls
+   * @param definitionClass 传入文件对应的Class实体映射
+   * @param options 导入配置
+   * @return 构建的表格信息
+   * @throws IOException 读取文件的异常
+   * @see #build(File, Class)
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> build(
+      File file, Class<T> definitionClass, ExcelImportOptions options) throws IOException {
+    ExcelDetail<T> excelDetail = build(definitionClass);
+    long startNanos = System.nanoTime();
+    String fileName = file.getName();
+    excelDetail.setFileName(fileName);
+
+    Workbook workbook;
+    ExcelFileFormat fileFormat = ExcelFileFormat.detect(file);
+    excelDetail.setFileFormat(fileFormat);
+    switch (fileFormat) {
+      case XLSX:
+        workbook = openXssfWorkbook(file);
+        break;
+      case XLS:
+        workbook = openHssfWorkbook(new POIFSFileSystem(file, true));
+        break;
+      case CSV:
+        // csv 直接流式读取文件，关闭时不删除
+        excelDetail.setSourceFile(file);
+        return excelDetail;
+      case EMPTY:
+        workbook = new XSSFWorkbook();
+        log.warn(
+            "读入文件为空，文件名 - {}",
+            fileName);
+        break;
+      default:
+        throw unsupportedFormatException(fileFormat, fileName);
+    }
+    setWorkbook(
+        excelDetail,
+        workbook,
+        options,
+        startNanos);
+    return excelDetail;
+  }
+
+  /**
+   * 从磁盘文件构建workbook.
+   *
+   * @param path 磁盘文件，按文件头区分 xlsx 和 xls
+   * @param definitionClass 传入文件对应的Class实体映射
+   * @return 构建的表格信息
+   * @throws IOException 读取文件的异常
+   * @see #build(File, Class)
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> build(
+      Path path, Class<T> definitionClass) throws IOException {
+    return build(
+        path.toFile(),
+        definitionClass,
+        new ExcelImportOptions());
+  }
+
+  /**
+   * 从磁盘文件构建workbook.
+   *
+   * @param path 磁盘文件，按文件头区分 xlsx 和 xls
+   * @param definitionClass 传入文件对应的Class实体映射
+   * @param options 导入配置
+   * @return 构建的表格信息
+   * @throws IOException 读取文件的异常
+   * @see #build(File, Class, ExcelImportOptions)
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> build(
+      Path path, Class<T> definitionClass, ExcelImportOptions options) throws IOException {
+    return build(
+        path.toFile(),
+        definitionClass,
+        options);
+  }
+
+  /**
+   * 从文件通道构建workbook.
+   *
+   * <p>按文件头识别格式，与 {@link #build(File, Class, ExcelImportOptions)} 的处理相同.
+   * 通道的内容先转存到临时文件，xlsx 和 xls 以只读方式打开，不整体读入内存，csv 流式读取.
+   * 临时文件在 {@link ExcelDetail#close()} 时删除，关闭时不会关闭通道，通道由调用方关闭.
+   * 能拿到文件路径时使用 {@link #build(Path, Class, ExcelImportOptions)}，不需要转存
+   *
+   * @param channel 文件通道，从开头读取，不改变通道的位置
+   * @param definitionClass 传入文件对应的Class实体映射
+   * @param options 导入配置
+   * @return 构建的表格信息
+   * @throws IOException 读取文件的异常
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> build(
+      FileChannel channel, Class<T> definitionClass, ExcelImportOptions options)
+      throws IOException {
+    ExcelDetail<T> excelDetail = build(definitionClass);
+    long startNanos = System.nanoTime();
+    excelDetail.setFileName("");
+
+    // 读取文件头
+    ByteBuffer header = ByteBuffer.allocate(ExcelFileFormat.HEADER_SIZE);
+    int read;
+    do {
+      read = channel.read(header, header.position());
+    } while (read > 0 && header.hasRemaining());
+    ExcelFileFormat fileFormat = ExcelFileFormat.detect(Arrays.copyOf(
+        header.array(),
+        header.position()));
+    excelDetail.setFileFormat(fileFormat);
+    Workbook workbook;
+    switch (fileFormat) {
+      case XLSX:
+      case XLS:
+        File workbookFile = transferToTempFile(channel);
+        try {
+          workbook = (fileFormat == ExcelFileFormat.XLSX)
+                     ? openXssfWorkbook(workbookFile)
+                     : openHssfWorkbook(new POIFSFileSystem(workbookFile, true));
+        } catch (IOException | RuntimeException e) {
+          deleteTempFile(workbookFile);
+          throw e;
+        }
+        excelDetail.setTemporaryWorkbookFile(workbookFile);
+        break;
+      case CSV:
+        excelDetail.setSourceFile(transferToTempFile(channel));
+        excelDetail.setTemporarySourceFile(true);
+        return excelDetail;
+      case EMPTY:
+        workbook = new XSSFWorkbook();
+        log.warn("读入文件通道为空");
+        break;
+      default:
+        throw unsupportedFormatException(fileFormat, "");
+    }
+    setWorkbook(
+        excelDetail,
+        workbook,
+        options,
+        startNanos);
+    return excelDetail;
+  }
+
+  /**
+   * 将通道的全部内容转存到临时文件.
+   *
+   * @param channel 文件通道
+   * @return 临时文件，失败时删除
+   * @throws IOException 读写文件的异常
+   */
+  private static File transferToTempFile(FileChannel channel) throws IOException {
+    File file = File.createTempFile(
+        "mobe-excel-",
+        ".tmp");
+    try (FileChannel target = FileChannel.open(
+        file.toPath(),
+        StandardOpenOption.WRITE)) {
+      long size = channel.size();
+      long position = 0;
+      while (position < size) {
+        long transferred = channel.transferTo(position, size - position, target);
+        if (transferred <= 0) {
+          break;
+        }
+        position += transferred;
+      }
+    } catch (IOException | RuntimeException e) {
+      deleteTempFile(file);
+      throw e;
+    }
+    return file;
+  }
+
+  /**
+   * 不支持的文件格式.
+   *
+   * @param fileFormat 识别出的格式
+   * @param fileName 文件名
+   * @return 统一异常
+   */
+  private static MobeErrorCodeException unsupportedFormatException(
+      ExcelFileFormat fileFormat, String fileName) {
+    log.warn(
+        "不支持的文件格式 - {}，文件名 - {}",
+        fileFormat,
+        fileName);
+    return new MobeErrorCodeException(
+        ExcelErrorCode.UNSUPPORTED_FORMAT,
+        fileName);
+  }
+
+  private static <T extends AbstractExcelDefinition> void setWorkbook(
+      ExcelDetail<T> excelDetail, Workbook workbook, ExcelImportOptions options,
+      long startNanos) {
     excelDetail.setWorkbook(workbook);
-    excelDetail.setEvaluator(workbook.getCreationHelper()
-                                     .createFormulaEvaluator());
+    excelDetail.setWorkbookOpenNanos(System.nanoTime() - startNanos);
+    excelDetail.setDateFormatCache(new DateFormatCache(workbook.getNumCellStyles()));
+    excelDetail.setFormulaMode(options.getFormulaMode());
+    if (options.getFormulaMode() != FormulaMode.CACHED_ONLY) {
+      excelDetail.setEvaluator(workbook.getCreationHelper()
+                                       .createFormulaEvaluator());
+    }
+  }
+
+  /**
+   * 以只读方式打开 xlsx，workbook 关闭时释放文件.
+   *
+   * @param file xlsx 文件
+   * @return workbook
+   * @throws IOException 读取文件的异常
+   */
+  private static XSSFWorkbook openXssfWorkbook(File file) throws IOException {
+    OPCPackage pkg;
+    try {
+      pkg = OPCPackage.open(file, PackageAccess.READ);
+    } catch (InvalidFormatException e) {
+      throw new MobeErrorCodeException(
+          ExcelErrorCode.FORMAT_MISMATCH,
+          e);
+    }
+    try {
+      return new XSSFWorkbook(pkg);
+    } catch (IOException | RuntimeException e) {
+      pkg.revert();
+      throw e;
+    }
+  }
+
+  /**
+   * 从 POIFS 打开 xls，workbook 关闭时关闭文件系统.
+   *
+   * @param fileSystem 文件系统
+   * @return workbook
+   * @throws IOException 读取文件的异常
+   */
+  private static HSSFWorkbook openHssfWorkbook(POIFSFileSystem fileSystem) throws IOException {
+    try {
+      return new HSSFWorkbook(
+          fileSystem.getRoot(),
+          true);
+    } catch (IOException | RuntimeException e) {
+      fileSystem.close();
+      throw e;
+    }
+  }
+
+  /**
+   * 以流式读取的方式从文件构建excel信息.
+   *
+   * <p>上传文件先转存为临时文件，读取时不构建workbook，使用后需调用 {@link ExcelDetail#close()} 删除临时文件.
+   * 按文件头选择 xlsx、xls 或 csv 的读取方式
+   *
+   * @param file 传入的文件，如果文件是空，数据则为空
+   * @param definitionClass 传入文件对应的Class实体映射
+   * @return 构建的表格信息
+   * @throws IOException 转存文件的异常
+   * @see ExcelDetail#read(int, boolean, java.util.function.Consumer)
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> buildStreaming(
+      MultipartFile file, Class<T> definitionClass) throws IOException {
+    return buildStreaming(
+        file,
+        definitionClass,
+        new ExcelImportOptions());
+  }
+
+  /**
+   * 以流式读取的方式从文件构建excel信息.
+   *
+   * @param file 传入的文件，如果文件是空，数据则为空
+   * @param definitionClass 传入文件对应的Class实体映射
+   * @param options 导入配置，使用其中的共享字符串表配置
+   * @return 构建的表格信息
+   * @throws IOException 转存文件的异常
+   * @see #buildStreaming(MultipartFile, Class)
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> buildStreaming(
+      MultipartFile file, Class<T> definitionClass, ExcelImportOptions options)
+      throws IOException {
+    ExcelDetail<T> excelDetail = build(definitionClass);
+    excelDetail.setSharedStringsCacheSize(options.getSharedStringsCacheSize());
+    if (file == null) {
+      excelDetail.setFileName("");
+      log.warn("读入文件流为空");
+      return excelDetail;
+    }
+    String fileName = file.getOriginalFilename();
+    fileName = isEmpty(fileName) ? "" : fileName.trim();
+    excelDetail.setFileName(fileName);
+
+    File sourceFile = File.createTempFile(
+        "mobe-excel-",
+        ".tmp");
+    ExcelFileFormat fileFormat;
+    try {
+      file.transferTo(sourceFile);
+      fileFormat = ExcelFileFormat.detect(sourceFile);
+    } catch (IOException | RuntimeException e) {
+      deleteTempFile(sourceFile);
+      throw e;
+    }
+    excelDetail.setFileFormat(fileFormat);
+    switch (fileFormat) {
+      case XLSX:
+      case XLS:
+      case CSV:
+        excelDetail.setSourceFile(sourceFile);
+        excelDetail.setTemporarySourceFile(true);
+        break;
+      case EMPTY:
+        deleteTempFile(sourceFile);
+        excelDetail.setWorkbook(new XSSFWorkbook());
+        log.warn(
+            "读入文件为空，文件名 - {}",
+            fileName);
+        break;
+      default:
+        deleteTempFile(sourceFile);
+        throw unsupportedFormatException(fileFormat, fileName);
+    }
     return excelDetail;
   }
 
+  private static void deleteTempFile(File file) {
+    if (!file.delete()) {
+      log.warn("临时文件删除失败 - {}", file);
+    }
+  }
+
+  /**
+   * 导出数据.
+   *
+   * @param definitionClass 定义的类映射
+   * @param rows 导出的数据
+   * @return 写入数据后的表格信息
+   * @see #export(Class, Iterator, ExcelExportOptions)
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> export(
+      Class<T> definitionClass, Iterable<? extends T> rows) {
+    return export(
+        definitionClass,
+        rows.iterator(),
+        new ExcelExportOptions());
+  }
+
+  /**
+   * 导出数据.
+   *
+   * @param definitionClass 定义的类映射
+   * @param rows 导出的数据，逐行消费
+   * @param options 导出配置
+   * @return 写入数据后的表格信息
+   * @see #export(Class, Iterator, ExcelExportOptions)
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> export(
+      Class<T> definitionClass, Stream<? extends T> rows, ExcelExportOptions options) {
+    return export(
+        definitionClass,
+        rows.iterator(),
+        options);
+  }
+
+  /**
+   * 导出数据.
+   *
+   * <p>使用 {@link SXSSFWorkbook} 写入，内存中只保留 {@link ExcelExportOptions#getRowAccessWindowSize()}
+   * 行，超出的行写入临时文件。使用后需调用 {@link ExcelDetail#close()} 删除临时文件
+   *
+   * @param definitionClass 定义的类映射
+   * @param rows 导出的数据，逐行消费
+   * @param options 导出配置
+   * @return 写入数据后的表格信息
+   */
+  public static <T extends AbstractExcelDefinition> ExcelDetail<T> export(
+      Class<T> definitionClass, Iterator<? extends T> rows, ExcelExportOptions options) {
+    ExcelDetail<T> excelDetail = build(definitionClass);
+    ExcelFile excelFile = definitionClass.getAnnotation(ExcelFile.class);
+    excelDetail.setFileName(excelFile.value() + ".xlsx");
+
+    ExcelStructureInfo structureInfo;
+    try {
+      structureInfo = ExcelDefinitionMetadata.of(definitionClass)
+                                             .structureInfo();
+    } catch (IntrospectionException e) {
+      throw new MobeServiceException(
+          "未找到字段",
+          e);
+    }
+
+    SXSSFWorkbook workbook = new SXSSFWorkbook(
+        null,
+        options.getRowAccessWindowSize(),
+        options.isCompressTempFiles());
+    excelDetail.setWorkbook(workbook);
+    Sheet sheet = isEmpty(excelFile.sheet())
+                  ? workbook.createSheet()
+                  : workbook.createSheet(excelFile.sheet());
+
+    ExcelSheetWriter sheetWriter = new ExcelSheetWriter(
+        structureInfo,
+        excelFile.headerIndex(),
+        excelDetail.getCellStyleRegistry());
+    sheetWriter.writeHeader(sheet);
+    if (options.getColumnWidthStrategy() == ColumnWidthStrategy.SAMPLED) {
+      sheetWriter.sampleColumnWidths(
+          options.getColumnWidthSampleSize(),
+          options.getMaxColumnWidth());
+    }
+    int rowCount = sheetWriter.writeRows(
+        sheet,
+        rows,
+        options.getRenderParallelism(),
+        options.getRenderChunkSize(),
+        (options.getRenderExecutor() == null)
+        ? ForkJoinPool.commonPool()
+        : options.getRenderExecutor());
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "export {} rows - {}",
+          definitionClass,
+          rowCount);
+    }
+    return excelDetail;
+  }
+
+  /**
+   * 导出 csv，UTF-8 编码.
+   *
+   * @param definitionClass 定义的类映射
+   * @param rows 导出的数据，逐行消费
+   * @param channel 写入的通道，写入后不关闭
+   * @return 写入的数据行数
+   * @throws IOException 写入的异常
+   * @see #exportCsv(Class, Iterator, WritableByteChannel, Charset)
+   */
+  public static <T extends AbstractExcelDefinition> int exportCsv(
+      Class<T> definitionClass, Iterable<? extends T> rows, WritableByteChannel channel)
+      throws IOException {
+    return exportCsv(
+        definitionClass,
+        rows.iterator(),
+        channel,
+        StandardCharsets.UTF_8);
+  }
+
+  /**
+   * 导出 csv.
+   *
+   * <p>按 {@link ExcelColumn} 的列序号和名称写入表头和数据，不构建workbook，边读取数据边编码写入通道.
+   * UTF-8 编码时写入 BOM
+   *
+   * @param definitionClass 定义的类映射
+   * @param rows 导出的数据，逐行消费
+   * @param channel 写入的通道，写入后不关闭
+   * @param charset 文件编码
+   * @return 写入的数据行数
+   * @throws IOException 写入的异常
+   */
+  public static <T extends AbstractExcelDefinition> int exportCsv(
+      Class<T> definitionClass,
+      Iterator<? extends T> rows,
+      WritableByteChannel channel,
+      Charset charset) throws IOException {
+    ExcelFile excelFile = definitionClass.getAnnotation(ExcelFile.class);
+    ExcelStructureInfo structureInfo;
+    try {
+      structureInfo = ExcelDefinitionMetadata.of(definitionClass)
+                                             .structureInfo();
+    } catch (IntrospectionException e) {
+      throw new MobeServiceException(
+          "未找到字段",
+          e);
+    }
+    CsvSheetWriter sheetWriter = new CsvSheetWriter(
+        structureInfo,
+        excelFile.headerIndex());
+    int rowCount = sheetWriter.write(
+        channel,
+        charset,
+        rows);
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "export csv {} rows - {}",
+          definitionClass,
+          rowCount);
+    }
+    return rowCount;
+  }
+
   /**
    * 构建excel信息.
    *
@@ -111,37 +689,19 @@ public class ExcelUtil {
     }
     excelDetail.setDefinitionClass(definitionClass);
 
-    ExcelFile excelFile = definitionClass.getAnnotation(ExcelFile.class);
+    ExcelDefinitionMetadata metadata = ExcelDefinitionMetadata.of(definitionClass);
+    ExcelFile excelFile = metadata.getExcelFile();
     excelDetail.setFileName(excelFile.value() + "-示例.xlsx");
     excelDetail.setSheetName(excelFile.sheet());
     // 头信息占用的行数
     int rowNum = excelFile.headerIndex();
     if (rowNum < 1) {
-      throw new MobeServiceException("[ExcelFile.headerIndex()]表格头位置不能小于1");
+      // 实体类的配置错误，保留调用栈
+      throw MobeErrorCodeException.withStackTrace(ExcelErrorCode.HEADER_INDEX);
     }
     excelDetail.setRowNum(excelFile.headerIndex());
 
-    Field[] declaredFields = definitionClass.getDeclaredFields();
-
-    List<Object[]> annotationFields = newArrayListWithExpectedSize(declaredFields.length);
-    for (Field declaredField : declaredFields) {
-      ExcelColumn fieldAnnotation = declaredField.getAnnotation(ExcelColumn.class);
-      if (fieldAnnotation == null) {
-        continue;
-      }
-      try {
-        PropertyDescriptor propertyDescriptor = new PropertyDescriptor(
-            declaredField.getName(),
-            definitionClass);
-        annotationFields.add(new Object[]{fieldAnnotation.index(),
-            propertyDescriptor.getWriteMethod(), fieldAnnotation.name(), declaredField.getType()});
-      } catch (IntrospectionException e) {
-        throw new MobeServiceException(
-            "未找到字段",
-            e);
-      }
-    }
-    excelDetail.setAnnotationFields(annotationFields);
+    excelDetail.setAnnotationFields(metadata.getAnnotationFields());
     return excelDetail;
   }
 
@@ -155,96 +715,260 @@ public class ExcelUtil {
    */
   public static Object getCellValue(
       FormulaEvaluator evaluator, Cell cell, Class<?> clz) {
-    Object cellValue = null;
-    // excel单元格数据类型
+    return getCellValue(
+        evaluator,
+        cell,
+        CellValueConverters.get(clz));
+  }
+
+  /**
+   * 获取单元格数据.
+   *
+   * <p>数字单元格直接读取数值，不修改单元格类型
+   *
+   * @param evaluator 公式计算器
+   * @param cell 单元格.
+   * @param converter 实体类字段类型的转换器
+   * @return 单元格数值
+   */
+  public static Object getCellValue(
+      FormulaEvaluator evaluator, Cell cell, CellValueConverter converter) {
+    return getCellValue(
+        evaluator,
+        cell,
+        converter,
+        FormulaMode.EVALUATE);
+  }
+
+  /**
+   * 获取单元格数据.
+   *
+   * <p>数字单元格直接读取数值，不修改单元格类型. 公式计算器为null时公式单元格只读取缓存的计算结果
+   *
+   * @param evaluator 公式计算器，可以为null
+   * @param cell 单元格.
+   * @param converter 实体类字段类型的转换器
+   * @param formulaMode 公式单元格的读取方式
+   * @return 单元格数值
+   */
+  public static Object getCellValue(
+      FormulaEvaluator evaluator,
+      Cell cell,
+      CellValueConverter converter,
+      FormulaMode formulaMode) {
     try {
-      CellType cellType = cell.getCellType();
-      if (log.isDebugEnabled()) {
-        log.debug(
-            "cell type - {}",
-            cellType);
-      }
-      if (cellType == CellType.NUMERIC) {
-        if (DateUtil.isCellDateFormatted(cell)) {
-          cellValue = cell.getDateCellValue();
-        } else {
-          cell.setCellType(CellType.STRING);
-          String tempCellValue = cell.getStringCellValue();
-          if (tempCellValue.contains(".")) {
-            cellValue = String.valueOf(Double.valueOf(tempCellValue))
-                              .trim();
-          } else {
-            cellValue = tempCellValue.trim();
-          }
+      return readCellValue(
+          evaluator,
+          cell,
+          converter,
+          formulaMode,
+          null);
+    } catch (IllegalArgumentException | IllegalStateException | DateTimeException e) {
+      throw cellValueFormatException(
+          cell.getRowIndex(),
+          cell.getColumnIndex(),
+          e);
+    }
+  }
+
+  /**
+   * 读取并转换单元格数据，转换失败时直接抛出转换器的异常.
+   *
+   * @param evaluator 公式计算器，可以为null
+   * @param cell 单元格.
+   * @param converter 实体类字段类型的转换器
+   * @param formulaMode 公式单元格的读取方式
+   * @param dateFormats workbook 的日期格式缓存，为null时每次都判断
+   * @return 单元格数值
+   * @throws IllegalArgumentException 数据格式错误
+   */
+  static Object readCellValue(
+      FormulaEvaluator evaluator,
+      Cell cell,
+      CellValueConverter converter,
+      FormulaMode formulaMode,
+      DateFormatCache dateFormats) {
+    // excel单元格数据类型
+    CellType cellType = cell.getCellType();
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "cell type - {}",
+          cellType);
+    }
+    switch (cellType) {
+      case NUMERIC:
+        if (isCellDateFormatted(cell, dateFormats)) {
+          return converter.fromDate(cell.getDateCellValue());
         }
-      } else if (cellType == CellType.STRING) {
-        cellValue = cell.getStringCellValue();
-      } else if (cellType == CellType.FORMULA) {
-        CellValue formulaCellValue = evaluator.evaluate(cell);
-        boolean isNumeric = formulaCellValue.getCellType() == CellType.NUMERIC;
-        cellValue = (isNumeric)
-                    ? formulaCellValue.getNumberValue()
-                    : formulaCellValue.getStringValue();
-        if (isNumeric && cellValue.toString()
-                                  .equals("0.0")) {
-          cellValue = cell.getNumericCellValue();
+        return converter.fromNumeric(cell.getNumericCellValue());
+      case STRING:
+        return converter.fromString(cell.getStringCellValue());
+      case FORMULA:
+        if (!evaluatesFormula(evaluator, cell, formulaMode)) {
+          return getCachedFormulaCellValue(cell, converter, dateFormats);
         }
-      } else if (cellType == CellType.BOOLEAN) {
-        cellValue = cell.getBooleanCellValue();
-      } else if (cellType == CellType.ERROR) {
-        cellValue = cell.getErrorCellValue();
-      }
-      if (cellValue == null) {
+        return getFormulaCellValue(evaluator, cell, converter);
+      case BOOLEAN:
+        return converter.fromBoolean(cell.getBooleanCellValue());
+      case ERROR:
+        return converter.fromError(cell.getErrorCellValue());
+      default:
         return null;
-      }
-      if (log.isDebugEnabled()) {
-        log.debug(
-            "cell value - {} - {}",
-            cellValue,
-            cellValue.getClass());
-      }
-      // 实体类的数据类型
-      if (clz == String.class) {
-        cellValue = String.valueOf(cellValue.toString());
-      } else if (clz == Integer.class) {
-        cellValue = Double.valueOf(cellValue.toString())
-                          .intValue();
-      } else if (clz == Long.class) {
-        cellValue = Double.valueOf(cellValue.toString())
-                          .longValue();
-      } else if (clz == Double.class) {
-        cellValue = Double.valueOf(cellValue.toString());
-      } else if (clz == Float.class) {
-        cellValue = Float.valueOf(cellValue.toString());
-      } else if (clz == BigDecimal.class) {
-        cellValue = new BigDecimal(cellValue.toString());
-      }
-      return cellValue;
-    } catch (NumberFormatException | IllegalStateException e) {
-      log.warn(
+    }
+  }
+
+  /**
+   * 读取单元格时是否需要计算公式.
+   *
+   * @param evaluator 公式计算器，可以为null
+   * @param cell 单元格
+   * @param formulaMode 公式单元格的读取方式
+   * @return 公式单元格需要计算时返回true，读取缓存结果或不是公式时返回false
+   */
+  static boolean evaluatesFormula(FormulaEvaluator evaluator, Cell cell, FormulaMode formulaMode) {
+    return (cell.getCellType() == CellType.FORMULA)
+        && (evaluator != null)
+        && (formulaMode == FormulaMode.EVALUATE || !hasCachedFormulaResult(cell));
+  }
+
+  /**
+   * 读取文件中缓存的公式计算结果.
+   *
+   * @param cell 公式单元格
+   * @param converter 实体类字段类型的转换器
+   * @param dateFormats workbook 的日期格式缓存，为null时每次都判断
+   * @return 单元格数值
+   */
+  private static Object getCachedFormulaCellValue(
+      Cell cell, CellValueConverter converter, DateFormatCache dateFormats) {
+    switch (cell.getCachedFormulaResultType()) {
+      case NUMERIC:
+        if (isCellDateFormatted(cell, dateFormats)) {
+          return converter.fromDate(cell.getDateCellValue());
+        }
+        return converter.fromNumeric(cell.getNumericCellValue());
+      case STRING:
+        return converter.fromString(cell.getStringCellValue());
+      case BOOLEAN:
+        return converter.fromBoolean(cell.getBooleanCellValue());
+      case ERROR:
+        return converter.fromError(cell.getErrorCellValue());
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * 单元格是否为日期格式.
+   *
+   * @param cell 单元格
+   * @param dateFormats workbook 的日期格式缓存，为null时每次都判断
+   * @return 是否为日期格式
+   */
+  static boolean isCellDateFormatted(Cell cell, DateFormatCache dateFormats) {
+    return (dateFormats == null)
+           ? DateUtil.isCellDateFormatted(cell)
+           : dateFormats.isCellDateFormatted(cell);
+  }
+
+  /**
+   * 文件中是否有公式的计算结果，xls 总是保存计算结果，xlsx 的 v 节点可能不存在.
+   *
+   * @param cell 公式单元格
+   * @return 是否有缓存的计算结果
+   */
+  private static boolean hasCachedFormulaResult(Cell cell) {
+    return !(cell instanceof XSSFCell) || ((XSSFCell) cell).getCTCell()
+                                                          .isSetV();
+  }
+
+  private static Object getFormulaCellValue(
+      FormulaEvaluator evaluator, Cell cell, CellValueConverter converter) {
+    CellValue formulaCellValue = evaluator.evaluate(cell);
+    switch (formulaCellValue.getCellType()) {
+      case NUMERIC:
+        double numberValue = formulaCellValue.getNumberValue();
+        // 计算结果为0时使用文件中缓存的结果
+        if (numberValue == 0) {
+          numberValue = cell.getNumericCellValue();
+        }
+        return converter.fromNumeric(numberValue);
+      case STRING:
+        return converter.fromString(formulaCellValue.getStringValue());
+      case BOOLEAN:
+        return converter.fromBoolean(formulaCellValue.getBooleanValue());
+      case ERROR:
+        return converter.fromError(formulaCellValue.getErrorValue());
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * 将单元格原始值转换为实体类字段的类型.
+   *
+   * @param cellValue 单元格原始值，不能为null
+   * @param clz 实体类的类型
+   * @return 转换后的值
+   * @throws IllegalArgumentException 数据格式错误
+   * @see CellValueConverters
+   */
+  public static Object convertCellValue(Object cellValue, Class<?> clz) {
+    return CellValueConverters.get(clz)
+                              .convert(cellValue);
+  }
+
+  /**
+   * 单元格数据格式错误.
+   *
+   * @param rowIndex 行号，0开始
+   * @param columnIndex 列号，0开始
+   * @param e 转换时的异常
+   * @return 不记录调用栈的统一异常，信息在读取时生成
+   */
+  static MobeErrorCodeException cellValueFormatException(
+      int rowIndex, int columnIndex, Exception e) {
+    if (log.isDebugEnabled()) {
+      log.debug(
           "数据格式错误：第{}行，第{}列",
-          (cell.getRowIndex() + 1),
-          (cell.getColumnIndex() + 1),
+          (rowIndex + 1),
+          (columnIndex + 1),
           e);
-      throw new MobeServiceException(String.format(
-          "数据格式错误：第%s行，第%s列",
-          (cell.getRowIndex() + 1),
-          (cell.getColumnIndex() + 1)));
     }
+    return new MobeErrorCodeException(
+        ExcelErrorCode.CELL_VALUE_FORMAT,
+        e,
+        (rowIndex + 1),
+        (columnIndex + 1));
   }
 
   /**
    * 获取 excel 定义的结构信息.
    *
+   * <p>每个类只解析一次，每次调用返回缓存的副本，修改返回值不影响之后的导出
+   *
    * @param clz excel
    * @return
    */
   public static ExcelStructureInfo getExcelStructureInfo(Class<?> clz)
       throws IntrospectionException {
+    return ExcelDefinitionMetadata.of(clz)
+                                  .getStructureInfo();
+  }
+
+  /**
+   * 解析 excel 定义的结构信息.
+   *
+   * @param clz excel
+   * @return 结构信息，缓存后不再修改
+   * @see #getExcelStructureInfo(Class)
+   */
+  static ExcelStructureInfo createExcelStructureInfo(Class<?> clz)
+      throws IntrospectionException {
     ExcelStructureInfo structureInfo = new ExcelStructureInfo();
+    ExcelDefinitionMetadata metadata = ExcelDefinitionMetadata.of(clz);
     // sheet 头信息
-    List<ExcelItemAnnotationInfo<ExcelHeader>> headerList = ExcelUtil.getAnnotationInfo(
-        clz,
+    List<ExcelItemAnnotationInfo<ExcelHeader>> headerList = metadata.annotationInfo(
         ExcelHeader.class);
     if (isNotEmpty(headerList)) {
       // 所有注解 header 的字段
@@ -256,9 +980,9 @@ public class ExcelUtil {
         ExcelHeader excelHeader = headerAnnotationInfo.getAnnotation();
         headerField.setIndex(excelHeader.index());
         // header 注解的类型里包含 column 注解的信息
-        List<ExcelItemAnnotationInfo<ExcelColumn>> columnList = ExcelUtil.getAnnotationInfo(
-            headerAnnotationInfo.getFieldType(),
-            ExcelColumn.class);
+        List<ExcelItemAnnotationInfo<ExcelColumn>> columnList = ExcelDefinitionMetadata
+            .of(headerAnnotationInfo.getFieldType())
+            .annotationInfo(ExcelColumn.class);
         if (isNotEmpty(columnList)) {
           List<DataField> dataFields = newArrayListWithExpectedSize(columnList.size());
           for (ExcelItemAnnotationInfo<ExcelColumn> columnAnnotationInfo : columnList) {
@@ -282,20 +1006,19 @@ public class ExcelUtil {
             headerCellStyle.put(
                 CellUtil.ALIGNMENT,
                 excelColumn.horizontal());
-            dataField.setHeaderCellStyle(headerCellStyle);
+            dataField.setHeaderCellStyle(unmodifiableMap(headerCellStyle));
 
             dataFields.add(dataField);
           }
-          headerField.setColumnFields(dataFields);
+          headerField.setColumnFields(unmodifiableList(dataFields));
         }
         headerFields.add(headerField);
       }
-      structureInfo.setHeaderFields(headerFields);
+      structureInfo.setHeaderFields(unmodifiableList(headerFields));
     }
 
     // 数据头信息
-    List<ExcelItemAnnotationInfo<ExcelColumn>> columnList = ExcelUtil.getAnnotationInfo(
-        clz,
+    List<ExcelItemAnnotationInfo<ExcelColumn>> columnList = metadata.annotationInfo(
         ExcelColumn.class);
     if (isNotEmpty(columnList)) {
       List<DataField> dataFields = newArrayListWithExpectedSize(columnList.size());
@@ -308,6 +1031,8 @@ public class ExcelUtil {
         DataField dataField = new DataField();
         dataField.setIndex(excelColumn.index());
         dataField.setWidth(excelColumn.width());
+        dataField.setType(columnAnnotationInfo.getFieldType());
+        dataField.setDataFormat(defaultDataFormat(columnAnnotationInfo.getFieldType()));
         dataField.setReadMethod(propertyDescriptor.getReadMethod());
         dataField.setName(excelColumn.name());
         dataField.setFontColor(excelColumn.fontColor());
@@ -328,7 +1053,7 @@ public class ExcelUtil {
             CellUtil.FILL_PATTERN,
             FillPatternType.SOLID_FOREGROUND);
 
-        dataField.setHeaderCellStyle(headerCellStyle);
+        dataField.setHeaderCellStyle(unmodifiableMap(headerCellStyle));
 
         Map<String, Object> dataCellStyle = newHashMapWithExpectedSize(20);
         dataCellStyle.put(
@@ -347,24 +1072,56 @@ public class ExcelUtil {
             CellUtil.WRAP_TEXT,
             true);
         commonCellStyle(dataCellStyle);
-        dataField.setDataCellStyle(dataCellStyle);
+        dataField.setDataCellStyle(unmodifiableMap(dataCellStyle));
 
         dataFields.add(dataField);
       }
-      structureInfo.setDataFields(dataFields);
+      structureInfo.setDataFields(unmodifiableList(dataFields));
     }
     return structureInfo;
   }
 
+  /**
+   * 日期类型字段的默认单元格格式.
+   *
+   * @param type 字段类型
+   * @return 非日期类型返回null
+   */
+  private static String defaultDataFormat(Class<?> type) {
+    if (type == LocalDate.class) {
+      return "yyyy-mm-dd";
+    }
+    if (type == Date.class || type == LocalDateTime.class) {
+      return "yyyy-mm-dd hh:mm:ss";
+    }
+    return null;
+  }
+
   /**
    * 获取一个类的注解信息.
    *
+   * <p>每个类只解析一次，每次调用返回缓存的副本
+   *
    * @param clz 类型
    * @param annotation 注解信息
    * @return
    */
   public static <A extends Annotation> List<ExcelItemAnnotationInfo<A>> getAnnotationInfo(
       Class<?> clz, Class<A> annotation) {
+    return ExcelDefinitionMetadata.of(clz)
+                                  .getAnnotationInfo(annotation);
+  }
+
+  /**
+   * 扫描一个类的注解信息.
+   *
+   * @param clz 类型
+   * @param annotation 注解信息
+   * @return
+   * @see #getAnnotationInfo(Class, Class)
+   */
+  static <A extends Annotation> List<ExcelItemAnnotationInfo<A>> scanAnnotationInfo(
+      Class<?> clz, Class<A> annotation) {
     Field[] declaredFields = clz.getDeclaredFields();
     if (isEmpty(declaredFields)) {
       return EMPTY_LIST;
@@ -392,7 +1149,7 @@ public class ExcelUtil {
     if (isEmpty(annotationFieldList)) {
       return EMPTY_LIST;
     }
-    return annotationFieldList;
+    return unmodifiableList(annotationFieldList);
   }
 
   /**
@@ -446,6 +1203,9 @@ public class ExcelUtil {
   /**
    * 设置合并单元格的边框.
    *
+   * <p>每次调用都读取 workbook 的全部样式创建样式缓存，设置多个区域时使用
+   * {@link #setRegionBorder(Sheet, CellRangeAddress, BorderStyle, short, CellStyleRegistry)}
+   *
    * @param sheet sheet
    * @param address 合并区域
    * @param borderStyle 边框样式
@@ -453,6 +1213,26 @@ public class ExcelUtil {
    */
   public static void setRegionBorder(
       Sheet sheet, CellRangeAddress address, BorderStyle borderStyle, short color) {
+    setRegionBorder(
+        sheet,
+        address,
+        borderStyle,
+        color,
+        new CellStyleRegistry(sheet.getWorkbook()));
+  }
+
+  /**
+   * 设置合并单元格的边框.
+   *
+   * @param sheet sheet
+   * @param address 合并区域
+   * @param borderStyle 边框样式
+   * @param color 边框颜色
+   * @param styleRegistry 样式缓存，设置多个区域时共用一个
+   */
+  public static void setRegionBorder(
+      Sheet sheet, CellRangeAddress address, BorderStyle borderStyle, short color,
+      CellStyleRegistry styleRegistry) {
     int firstRow = address.getFirstRow();
     int lastRow = address.getLastRow();
     int firstColumn = address.getFirstColumn();
@@ -470,19 +1250,19 @@ public class ExcelUtil {
               sheet),
           lastColumn);
 
-      CellUtil.setCellStyleProperty(
+      styleRegistry.setCellStyleProperty(
           firstCell,
           CellUtil.BORDER_LEFT,
           borderStyle);
-      CellUtil.setCellStyleProperty(
+      styleRegistry.setCellStyleProperty(
           firstCell,
           CellUtil.LEFT_BORDER_COLOR,
           color);
-      CellUtil.setCellStyleProperty(
+      styleRegistry.setCellStyleProperty(
           lastCell,
           CellUtil.BORDER_RIGHT,
           borderStyle);
-      CellUtil.setCellStyleProperty(
+      styleRegistry.setCellStyleProperty(
           lastCell,
           CellUtil.RIGHT_BORDER_COLOR,
           color);
@@ -500,19 +1280,19 @@ public class ExcelUtil {
               sheet),
           i);
 
-      CellUtil.setCellStyleProperty(
+      styleRegistry.setCellStyleProperty(
           firstCell,
           CellUtil.BORDER_TOP,
           borderStyle);
-      CellUtil.setCellStyleProperty(
+      styleRegistry.setCellStyleProperty(
           firstCell,
           CellUtil.TOP_BORDER_COLOR,
           color);
-      CellUtil.setCellStyleProperty(
+      styleRegistry.setCellStyleProperty(
           lastCell,
           CellUtil.BORDER_BOTTOM,
           borderStyle);
-      CellUtil.setCellStyleProperty(
+      styleRegistry.setCellStyleProperty(
           lastCell,
           CellUtil.BOTTOM_BORDER_COLOR,
           color);
@@ -0,0 +1,84 @@
+package cloud.mobe.utils.excel;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * 边写边读的 workbook 输入流.
+ *
+ * <p>workbook 在单独的线程中写入管道，调用方读取的同时生成后续内容，内存中只保留管道缓冲区.
+ * 写入失败时，读到流末尾后抛出写入的异常.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 18:50
+ */
+@Slf4j
+final class PipedWorkbookInputStream extends PipedInputStream {
+
+  /** 管道缓冲区大小. */
+  static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private volatile Throwable failure;
+
+  /**
+   * 启动写入线程.
+   *
+   * @param workbook 写入的workbook
+   * @param bufferSize 管道缓冲区大小
+   * @throws IOException 连接管道的异常
+   */
+  PipedWorkbookInputStream(Workbook workbook, int bufferSize) throws IOException {
+    super(bufferSize);
+    PipedOutputStream outputStream = new PipedOutputStream(this);
+    Thread writer = new Thread(
+        () -> this.write(workbook, outputStream),
+        "mobe-excel-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @Override
+  public synchronized int read() throws IOException {
+    int b = super.read();
+    if (b < 0) {
+      this.checkFailure();
+    }
+    return b;
+  }
+
+  @Override
+  public synchronized int read(byte[] b, int off, int len) throws IOException {
+    int n = super.read(b, off, len);
+    if (n < 0) {
+      this.checkFailure();
+    }
+    return n;
+  }
+
+  private void write(Workbook workbook, PipedOutputStream outputStream) {
+    try {
+      workbook.write(outputStream);
+    } catch (Throwable e) {
+      // 先记录异常再关闭管道，读取方读到末尾时能看到异常
+      this.failure = e;
+    } finally {
+      try {
+        outputStream.close();
+      } catch (IOException e) {
+        log.warn("关闭管道失败", e);
+      }
+    }
+  }
+
+  private void checkFailure() throws IOException {
+    Throwable cause = this.failure;
+    if (cause != null) {
+      throw new IOException(
+          "写入workbook失败",
+          cause);
+    }
+  }
+}
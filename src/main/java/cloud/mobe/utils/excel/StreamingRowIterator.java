@@ -0,0 +1,201 @@
+package cloud.mobe.utils.excel;
+
+import cloud.mobe.utils.exception.MobeServiceException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 将流式读取的回调转换为迭代器.
+ *
+ * <p>读取任务在线程池中执行，通过有界队列交给调用方，队列满时读取任务等待，
+ * 内存中最多保留队列容量的行. 提前结束迭代时必须调用 {@link #close()}，否则读取任务会一直占用线程.
+ * 关闭后 {@link #hasNext()} 立即返回false. 调用方按固定间隔检查读取任务是否已经结束，
+ * 读取任务被中断或线程池关闭而没有放入结束标记时不会一直等待.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 17:40
+ */
+@Slf4j
+final class StreamingRowIterator<T> implements CloseableIterator<T> {
+
+  /** 队列中的行数上限. */
+  static final int DEFAULT_CAPACITY = 1024;
+
+  /**
+   * 未指定线程池时使用的读取线程池. 每个迭代器的读取任务会一直执行到读完或关闭，所以按需创建线程，
+   * 空闲的线程60秒后回收.
+   */
+  static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setNameFormat("mobe-excel-reader-%d")
+                                .setDaemon(true)
+                                .build());
+
+  private static final Object END = new Object();
+  private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+  private final BlockingQueue<Object> queue;
+  private volatile boolean closed;
+  /** 读取任务已经退出. */
+  private volatile boolean finished;
+  private Object next;
+
+  /**
+   * 提交读取任务.
+   *
+   * @param capacity 队列容量
+   * @param source 按行回调的读取过程
+   * @param executor 执行读取任务的线程池
+   */
+  StreamingRowIterator(int capacity, RowSource<T> source, Executor executor) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    executor.execute(() -> this.produce(source));
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (this.closed) {
+      return false;
+    }
+    if (this.next == null) {
+      this.next = this.take();
+      if (this.next == null) {
+        return false;
+      }
+    }
+    if (this.next instanceof Failure) {
+      Throwable cause = ((Failure) this.next).cause;
+      this.next = END;
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new MobeServiceException(
+          "读取excel文件失败",
+          cause);
+    }
+    return this.next != END;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T next() {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException();
+    }
+    T data = (T) this.next;
+    this.next = null;
+    return data;
+  }
+
+  /**
+   * 停止读取任务，丢弃未取出的行.
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    this.next = null;
+    this.queue.clear();
+  }
+
+  /**
+   * 取出下一项，按固定间隔检查是否已经关闭或读取任务已经退出.
+   *
+   * @return 行、结束标记或异常，已经关闭时返回null
+   */
+  private Object take() {
+    try {
+      while (!this.closed) {
+        Object item = this.queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (item != null) {
+          return item;
+        }
+        if (this.finished) {
+          // 读取任务退出前放入的结束标记可能在等待之后才到达
+          item = this.queue.poll();
+          if (item != null) {
+            return item;
+          }
+          this.closed = true;
+          throw new MobeServiceException("读取excel文件被中断");
+        }
+      }
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread()
+            .interrupt();
+      this.close();
+      throw new MobeServiceException(
+          "读取excel文件被中断",
+          e);
+    }
+  }
+
+  private void produce(RowSource<T> source) {
+    try {
+      source.read(this::put);
+      this.put(END);
+    } catch (CancellationException e) {
+      if (log.isDebugEnabled()) {
+        log.debug("excel reader closed");
+      }
+    } catch (Throwable e) {
+      try {
+        this.put(new Failure(e));
+      } catch (CancellationException ignored) {
+        log.warn("读取excel文件失败", e);
+      }
+    } finally {
+      this.finished = true;
+    }
+  }
+
+  private void put(Object item) {
+    try {
+      while (!this.closed) {
+        if (this.queue.offer(item, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread()
+            .interrupt();
+    }
+    throw new CancellationException();
+  }
+
+  /**
+   * 读取过程.
+   */
+  @FunctionalInterface
+  interface RowSource<T> {
+
+    /**
+     * 读取全部行.
+     *
+     * @param consumer 每一行的回调
+     * @throws IOException 读取文件的异常
+     */
+    void read(Consumer<T> consumer) throws IOException;
+  }
+
+  /**
+   * 读取线程中的异常.
+   */
+  private static final class Failure {
+
+    private final Throwable cause;
+
+    private Failure(Throwable cause) {
+      this.cause = cause;
+    }
+  }
+}
@@ -0,0 +1,462 @@
+package cloud.mobe.utils.excel.binder;
+
+import cloud.mobe.utils.excel.annotation.ExcelColumn;
+import cloud.mobe.utils.excel.convert.CellValueConverter;
+import cloud.mobe.utils.excel.convert.CellValueConverters;
+import cloud.mobe.utils.exception.MobeServiceException;
+import com.google.common.primitives.Primitives;
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 预编译的行绑定器.
+ *
+ * <p>每个实体类只解析一次，set 方法和无参构造方法编译为
+ * {@link LambdaMetafactory} 生成的函数对象，逐个单元格赋值时不再经过反射.
+ * 列按 {@link ExcelColumn#index()} 升序排列. {@code int}、{@code long}、{@code double} 字段额外编译
+ * 基本类型的 set 方法，数字单元格通过 {@link #setNumeric(int, Object, double)} 赋值时不装箱.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 15:00
+ */
+@Slf4j
+public final class RowBinder<T> {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private final Supplier<T> constructor;
+  /** 列序号，升序. */
+  private final int[] columnIndexes;
+  /** 字段类型. */
+  private final Class<?>[] fieldTypes;
+  /** 字段名. */
+  private final String[] fieldNames;
+  /** 字段类型的转换器. */
+  private final CellValueConverter[] converters;
+  private final FieldSetter[] setters;
+  /** 最大列序号 + 1. */
+  private final int columnCount;
+
+  private RowBinder(
+      Supplier<T> constructor,
+      int[] columnIndexes,
+      Class<?>[] fieldTypes,
+      String[] fieldNames,
+      FieldSetter[] setters) {
+    this.constructor = constructor;
+    this.columnIndexes = columnIndexes;
+    this.fieldTypes = fieldTypes;
+    this.fieldNames = fieldNames;
+    this.converters = Arrays.stream(fieldTypes)
+                            .map(CellValueConverters::get)
+                            .toArray(CellValueConverter[]::new);
+    this.setters = setters;
+    this.columnCount = (columnIndexes.length == 0)
+                       ? 0
+                       : columnIndexes[columnIndexes.length - 1] + 1;
+  }
+
+  /**
+   * 编译实体类的绑定器.
+   *
+   * @param definitionClass 实体类
+   * @return 绑定器
+   * @throws MobeServiceException 字段类型不支持转换，见 {@link CellValueConverters#isSupported(Class)}
+   */
+  public static <T> RowBinder<T> compile(Class<T> definitionClass) {
+    Field[] columnFields = Arrays.stream(definitionClass.getDeclaredFields())
+                                 .filter(field -> field.isAnnotationPresent(ExcelColumn.class))
+                                 .sorted(Comparator.comparingInt(
+                                     field -> field.getAnnotation(ExcelColumn.class)
+                                                   .index()))
+                                 .toArray(Field[]::new);
+    boolean visible = isVisible(definitionClass);
+
+    int size = columnFields.length;
+    int[] columnIndexes = new int[size];
+    Class<?>[] fieldTypes = new Class<?>[size];
+    String[] fieldNames = new String[size];
+    FieldSetter[] setters = new FieldSetter[size];
+    for (int i = 0; i < size; i++) {
+      Field field = columnFields[i];
+      if (!CellValueConverters.isSupported(field.getType())) {
+        throw new MobeServiceException(String.format(
+            "不支持的字段类型：%s.%s - %s",
+            definitionClass.getName(),
+            field.getName(),
+            field.getType()
+                 .getName()));
+      }
+      Method writeMethod;
+      try {
+        writeMethod = new PropertyDescriptor(
+            field.getName(),
+            definitionClass).getWriteMethod();
+      } catch (IntrospectionException e) {
+        throw new MobeServiceException(
+            "未找到字段",
+            e);
+      }
+      columnIndexes[i] = field.getAnnotation(ExcelColumn.class)
+                              .index();
+      fieldTypes[i] = field.getType();
+      fieldNames[i] = field.getName();
+      setters[i] = fieldSetter(definitionClass, writeMethod, visible);
+    }
+    return new RowBinder<>(
+        constructor(definitionClass, visible),
+        columnIndexes,
+        fieldTypes,
+        fieldNames,
+        setters);
+  }
+
+  /**
+   * 创建实体.
+   *
+   * @return 新实体
+   */
+  public T newInstance() {
+    return constructor.get();
+  }
+
+  /**
+   * 绑定的列数.
+   *
+   * @return 注解字段的数量
+   */
+  public int size() {
+    return columnIndexes.length;
+  }
+
+  /**
+   * 读取行时需要的列数.
+   *
+   * @return 最大列序号 + 1
+   */
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /**
+   * 第 i 个字段的列序号.
+   *
+   * @param i 字段序号
+   * @return 列序号
+   */
+  public int columnIndex(int i) {
+    return columnIndexes[i];
+  }
+
+  /**
+   * 第 i 个字段的类型.
+   *
+   * @param i 字段序号
+   * @return 字段类型
+   */
+  public Class<?> fieldType(int i) {
+    return fieldTypes[i];
+  }
+
+  /**
+   * 第 i 个字段类型的转换器.
+   *
+   * @param i 字段序号
+   * @return 转换器
+   */
+  public CellValueConverter converter(int i) {
+    return converters[i];
+  }
+
+  /**
+   * 第 i 个字段的名称.
+   *
+   * @param i 字段序号
+   * @return 字段名
+   */
+  public String fieldName(int i) {
+    return fieldNames[i];
+  }
+
+  /**
+   * 为第 i 个字段赋值.
+   *
+   * @param i 字段序号
+   * @param target 实体
+   * @param value 已转换为字段类型的值
+   */
+  public void set(int i, T target, Object value) {
+    setters[i].boxed.accept(target, value);
+  }
+
+  /**
+   * 第 i 个字段能否不装箱地从数字单元格赋值.
+   *
+   * @param i 字段序号
+   * @return 字段为 {@code int}、{@code long} 或 {@code double} 时返回true
+   */
+  public boolean isPrimitiveNumeric(int i) {
+    return setters[i].intSetter != null
+        || setters[i].longSetter != null
+        || setters[i].doubleSetter != null;
+  }
+
+  /**
+   * 用数字单元格的值为第 i 个字段赋值，不经过转换器和装箱.
+   *
+   * <p>整数字段按强制类型转换截断小数，与 {@link CellValueConverter#fromNumeric(double)} 的结果一致
+   *
+   * @param i 字段序号，{@link #isPrimitiveNumeric(int)} 为true
+   * @param target 实体
+   * @param value 单元格的数值
+   */
+  public void setNumeric(int i, T target, double value) {
+    FieldSetter setter = setters[i];
+    if (setter.intSetter != null) {
+      setter.intSetter.accept(target, (int) value);
+    } else if (setter.longSetter != null) {
+      setter.longSetter.accept(target, (long) value);
+    } else {
+      setter.doubleSetter.accept(target, value);
+    }
+  }
+
+  /**
+   * 实体类能否从本类的类加载器访问，不能访问时无法生成 lambda，改用 MethodHandle.
+   *
+   * @param definitionClass 实体类
+   * @return 是否可见
+   */
+  private static boolean isVisible(Class<?> definitionClass) {
+    if (!Modifier.isPublic(definitionClass.getModifiers())) {
+      return false;
+    }
+    try {
+      return Class.forName(
+          definitionClass.getName(),
+          false,
+          RowBinder.class.getClassLoader()) == definitionClass;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static FieldSetter fieldSetter(
+      Class<?> definitionClass, Method writeMethod, boolean visible) {
+    if (writeMethod == null) {
+      throw new MobeServiceException("未找到字段的set方法：" + definitionClass.getName());
+    }
+    Class<?> parameterType = writeMethod.getParameterTypes()[0];
+    try {
+      boolean lambda = visible && Modifier.isPublic(writeMethod.getDeclaringClass()
+                                                               .getModifiers());
+      if (!lambda) {
+        writeMethod.setAccessible(true);
+      }
+      MethodHandle handle = LOOKUP.unreflect(writeMethod);
+      return new FieldSetter(
+          setter(definitionClass, handle, lambda),
+          (parameterType == int.class)
+          ? (ObjIntConsumer<Object>) primitiveSetter(
+              ObjIntConsumer.class, definitionClass, handle, lambda)
+          : null,
+          (parameterType == long.class)
+          ? (ObjLongConsumer<Object>) primitiveSetter(
+              ObjLongConsumer.class, definitionClass, handle, lambda)
+          : null,
+          (parameterType == double.class)
+          ? (ObjDoubleConsumer<Object>) primitiveSetter(
+              ObjDoubleConsumer.class, definitionClass, handle, lambda)
+          : null);
+    } catch (Throwable e) {
+      throw new MobeServiceException(
+          "编译set方法失败：" + writeMethod,
+          e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> setter(
+      Class<?> definitionClass, MethodHandle handle, boolean lambda) throws Throwable {
+    if (lambda) {
+      CallSite callSite = LambdaMetafactory.metafactory(
+          LOOKUP,
+          "accept",
+          MethodType.methodType(BiConsumer.class),
+          MethodType.methodType(void.class, Object.class, Object.class),
+          handle,
+          MethodType.methodType(
+              void.class,
+              definitionClass,
+              Primitives.wrap(handle.type()
+                                    .parameterType(1))));
+      return (BiConsumer<Object, Object>) callSite.getTarget()
+                                                  .invokeExact();
+    }
+    MethodHandle objectHandle = handle.asType(MethodType.methodType(
+        void.class,
+        Object.class,
+        Object.class));
+    return (target, value) -> {
+      try {
+        objectHandle.invokeExact(target, value);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new MobeServiceException(
+            "实体类赋值失败",
+            e);
+      }
+    };
+  }
+
+  /**
+   * 编译基本类型的 set 方法.
+   *
+   * @param functionType {@link ObjIntConsumer}、{@link ObjLongConsumer} 或 {@link ObjDoubleConsumer}
+   * @param definitionClass 实体类
+   * @param handle set 方法
+   * @param lambda 是否生成 lambda，为false时通过 {@link MethodHandle} 调用
+   * @return 函数对象
+   */
+  private static Object primitiveSetter(
+      Class<?> functionType, Class<?> definitionClass, MethodHandle handle, boolean lambda)
+      throws Throwable {
+    Class<?> parameterType = handle.type()
+                                   .parameterType(1);
+    if (lambda) {
+      CallSite callSite = LambdaMetafactory.metafactory(
+          LOOKUP,
+          "accept",
+          MethodType.methodType(functionType),
+          MethodType.methodType(void.class, Object.class, parameterType),
+          handle,
+          MethodType.methodType(void.class, definitionClass, parameterType));
+      return callSite.getTarget()
+                     .invoke();
+    }
+    MethodHandle objectHandle = handle.asType(MethodType.methodType(
+        void.class,
+        Object.class,
+        parameterType));
+    if (parameterType == int.class) {
+      return (ObjIntConsumer<Object>) (target, value) -> invoke(objectHandle, target, value);
+    } else if (parameterType == long.class) {
+      return (ObjLongConsumer<Object>) (target, value) -> invoke(objectHandle, target, value);
+    }
+    return (ObjDoubleConsumer<Object>) (target, value) -> invoke(objectHandle, target, value);
+  }
+
+  private static void invoke(MethodHandle handle, Object target, int value) {
+    try {
+      handle.invokeExact(target, value);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new MobeServiceException(
+          "实体类赋值失败",
+          e);
+    }
+  }
+
+  private static void invoke(MethodHandle handle, Object target, long value) {
+    try {
+      handle.invokeExact(target, value);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new MobeServiceException(
+          "实体类赋值失败",
+          e);
+    }
+  }
+
+  private static void invoke(MethodHandle handle, Object target, double value) {
+    try {
+      handle.invokeExact(target, value);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new MobeServiceException(
+          "实体类赋值失败",
+          e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Supplier<T> constructor(Class<T> definitionClass, boolean visible) {
+    try {
+      Constructor<T> declaredConstructor = definitionClass.getDeclaredConstructor();
+      if (visible && Modifier.isPublic(declaredConstructor.getModifiers())) {
+        MethodHandle handle = LOOKUP.unreflectConstructor(declaredConstructor);
+        CallSite callSite = LambdaMetafactory.metafactory(
+            LOOKUP,
+            "get",
+            MethodType.methodType(Supplier.class),
+            MethodType.methodType(Object.class),
+            handle,
+            MethodType.methodType(definitionClass));
+        return (Supplier<T>) callSite.getTarget()
+                                     .invokeExact();
+      }
+      declaredConstructor.setAccessible(true);
+      MethodHandle handle = LOOKUP.unreflectConstructor(declaredConstructor)
+                                  .asType(MethodType.methodType(Object.class));
+      return () -> {
+        try {
+          return (T) handle.invokeExact();
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new MobeServiceException(
+              "实体类实例化失败",
+              e);
+        }
+      };
+    } catch (Throwable e) {
+      throw new MobeServiceException(
+          "编译构造方法失败：" + definitionClass.getName(),
+          e);
+    }
+  }
+
+  /**
+   * 字段的 set 方法，基本类型字段额外保存不装箱的版本.
+   */
+  private static final class FieldSetter {
+
+    private final BiConsumer<Object, Object> boxed;
+    private final ObjIntConsumer<Object> intSetter;
+    private final ObjLongConsumer<Object> longSetter;
+    private final ObjDoubleConsumer<Object> doubleSetter;
+
+    private FieldSetter(
+        BiConsumer<Object, Object> boxed,
+        ObjIntConsumer<Object> intSetter,
+        ObjLongConsumer<Object> longSetter,
+        ObjDoubleConsumer<Object> doubleSetter) {
+      this.boxed = boxed;
+      this.intSetter = intSetter;
+      this.longSetter = longSetter;
+      this.doubleSetter = doubleSetter;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package cloud.mobe.utils.excel.checkpoint;
+
+import cloud.mobe.utils.excel.dto.ImportCheckpoint;
+import cloud.mobe.utils.json.JsonUtil;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 存放在本地目录中的导入断点，每个断点一个 json 文件.
+ *
+ * <p>保存时先写入临时文件并刷到磁盘，再原子替换断点文件，进程在写入时退出也不会留下不完整的断点
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 22:10
+ */
+@Slf4j
+public class FileImportCheckpointStore implements ImportCheckpointStore {
+
+  /** 断点文件所在目录. */
+  @Getter
+  private final File directory;
+
+  /**
+   * 使用临时目录下的 mobe-import-checkpoint 目录.
+   */
+  public FileImportCheckpointStore() {
+    this(new File(
+        System.getProperty("java.io.tmpdir"),
+        "mobe-import-checkpoint"));
+  }
+
+  /**
+   * 使用指定目录，不存在时在保存断点时创建.
+   *
+   * @param directory 断点文件所在目录
+   */
+  public FileImportCheckpointStore(File directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  public ImportCheckpoint load(String key) throws IOException {
+    Path path = this.path(key);
+    if (!Files.isRegularFile(path)) {
+      return null;
+    }
+    String json = new String(
+        Files.readAllBytes(path),
+        StandardCharsets.UTF_8);
+    ImportCheckpoint checkpoint = JsonUtil.parseJsonString(json, ImportCheckpoint.class);
+    if (checkpoint == null) {
+      log.warn("断点文件无法解析，忽略 - {}", path);
+    }
+    return checkpoint;
+  }
+
+  @Override
+  public void save(String key, ImportCheckpoint checkpoint) throws IOException {
+    Path directoryPath = this.directory.toPath();
+    Files.createDirectories(directoryPath);
+    Path tempPath = Files.createTempFile(
+        directoryPath,
+        key,
+        ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(
+          tempPath,
+          StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        ByteBuffer buffer = ByteBuffer.wrap(JsonUtil.getJsonString(checkpoint)
+                                                    .getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(
+          tempPath,
+          this.path(key),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempPath);
+    }
+  }
+
+  @Override
+  public void remove(String key) throws IOException {
+    Files.deleteIfExists(this.path(key));
+  }
+
+  private Path path(String key) {
+    return new File(
+        this.directory,
+        key + ".json").toPath();
+  }
+}
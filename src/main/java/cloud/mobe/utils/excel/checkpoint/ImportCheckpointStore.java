@@ -0,0 +1,39 @@
+package cloud.mobe.utils.excel.checkpoint;
+
+import cloud.mobe.utils.excel.dto.ImportCheckpoint;
+import java.io.IOException;
+
+/**
+ * 导入断点的存储.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 22:10
+ */
+public interface ImportCheckpointStore {
+
+  /**
+   * 读取断点.
+   *
+   * @param key 断点的key
+   * @return 不存在时返回null
+   * @throws IOException 读取的异常
+   */
+  ImportCheckpoint load(String key) throws IOException;
+
+  /**
+   * 保存断点，覆盖之前的断点. 返回后断点需要已经持久化
+   *
+   * @param key 断点的key
+   * @param checkpoint 断点
+   * @throws IOException 写入的异常
+   */
+  void save(String key, ImportCheckpoint checkpoint) throws IOException;
+
+  /**
+   * 导入完成后删除断点.
+   *
+   * @param key 断点的key
+   * @throws IOException 删除的异常
+   */
+  void remove(String key) throws IOException;
+}
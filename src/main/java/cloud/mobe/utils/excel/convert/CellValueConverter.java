@@ -0,0 +1,85 @@
+package cloud.mobe.utils.excel.convert;
+
+import java.util.Date;
+
+/**
+ * 单元格值到实体类字段类型的转换器.
+ *
+ * <p>按单元格的原始类型分别转换，数字单元格直接使用 double 值，不经过字符串.
+ * 未覆盖的方法默认按字符串转换.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 17:00
+ * @see CellValueConverters
+ */
+public interface CellValueConverter {
+
+  /**
+   * 数字单元格.
+   *
+   * @param value 单元格的数值
+   * @return 字段类型的值
+   */
+  Object fromNumeric(double value);
+
+  /**
+   * 文本单元格.
+   *
+   * @param value 单元格的文本
+   * @return 字段类型的值
+   */
+  Object fromString(String value);
+
+  /**
+   * 布尔单元格.
+   *
+   * @param value 单元格的布尔值
+   * @return 字段类型的值
+   */
+  default Object fromBoolean(boolean value) {
+    return fromString(String.valueOf(value));
+  }
+
+  /**
+   * 日期格式的数字单元格.
+   *
+   * @param value 单元格的日期
+   * @return 字段类型的值
+   */
+  default Object fromDate(Date value) {
+    return fromString(value.toString());
+  }
+
+  /**
+   * 错误单元格.
+   *
+   * @param errorCode 错误码
+   * @return 字段类型的值
+   */
+  default Object fromError(byte errorCode) {
+    return fromString(String.valueOf(errorCode));
+  }
+
+  /**
+   * 转换流式读取的单元格原始值.
+   *
+   * @param cellValue 字符串、数字、日期、布尔值或错误码，不能为null
+   * @return 字段类型的值
+   */
+  default Object convert(Object cellValue) {
+    if (cellValue instanceof Double) {
+      return fromNumeric((Double) cellValue);
+    } else if (cellValue instanceof String) {
+      return fromString((String) cellValue);
+    } else if (cellValue instanceof Date) {
+      return fromDate((Date) cellValue);
+    } else if (cellValue instanceof Boolean) {
+      return fromBoolean((Boolean) cellValue);
+    } else if (cellValue instanceof Byte) {
+      return fromError((Byte) cellValue);
+    } else if (cellValue instanceof Number) {
+      return fromNumeric(((Number) cellValue).doubleValue());
+    }
+    return fromString(cellValue.toString());
+  }
+}
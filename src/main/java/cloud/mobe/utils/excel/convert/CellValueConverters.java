@@ -0,0 +1,457 @@
+package cloud.mobe.utils.excel.convert;
+
+import static cloud.mobe.utils.datetime.DateTimeFormat.SHORT_LINE;
+import static cloud.mobe.utils.datetime.DateTimeFormat.SHORT_SLASH;
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+import static java.util.Collections.unmodifiableMap;
+
+import cloud.mobe.utils.datetime.DateTimeUtil;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+/**
+ * 按字段类型查找的转换器表.
+ *
+ * <p>数字单元格直接转换为目标类型；转为字符串和 {@link BigDecimal} 时使用 excel 显示的数字文本，
+ * 不会出现 {@code 1.0} 和 {@code 0.30000000000000004} 这样的值. 枚举按常量名转换，其他不在表中的类型保持单元格原始值.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 17:00
+ */
+public final class CellValueConverters {
+
+  private static final BigDecimal MIN_LONG = BigDecimal.valueOf(Long.MIN_VALUE);
+  private static final BigDecimal MAX_LONG = BigDecimal.valueOf(Long.MAX_VALUE);
+
+  /** 枚举类型的转换器，每个枚举只创建一次. */
+  private static final ClassValue<CellValueConverter> ENUM_CONVERTERS =
+      new ClassValue<CellValueConverter>() {
+        @Override
+        protected CellValueConverter computeValue(Class<?> type) {
+          return new EnumConverter(type.getEnumConstants());
+        }
+      };
+
+  private static final Map<Class<?>, CellValueConverter> CONVERTERS;
+
+  static {
+    Map<Class<?>, CellValueConverter> converters = newHashMapWithExpectedSize(20);
+    converters.put(String.class, Builtin.STRING);
+    converters.put(Integer.class, Builtin.INTEGER);
+    converters.put(int.class, Builtin.INTEGER);
+    converters.put(Long.class, Builtin.LONG);
+    converters.put(long.class, Builtin.LONG);
+    converters.put(Short.class, Builtin.SHORT);
+    converters.put(short.class, Builtin.SHORT);
+    converters.put(Double.class, Builtin.DOUBLE);
+    converters.put(double.class, Builtin.DOUBLE);
+    converters.put(Float.class, Builtin.FLOAT);
+    converters.put(float.class, Builtin.FLOAT);
+    converters.put(Boolean.class, Builtin.BOOLEAN);
+    converters.put(boolean.class, Builtin.BOOLEAN);
+    converters.put(BigDecimal.class, Builtin.BIG_DECIMAL);
+    converters.put(Date.class, Builtin.DATE);
+    converters.put(LocalDate.class, Builtin.LOCAL_DATE);
+    converters.put(LocalDateTime.class, Builtin.LOCAL_DATE_TIME);
+    CONVERTERS = unmodifiableMap(converters);
+  }
+
+  private CellValueConverters() {
+  }
+
+  /**
+   * 获取字段类型的转换器.
+   *
+   * @param type 字段类型
+   * @return 转换器，不支持的类型返回保持原始值的转换器
+   */
+  public static CellValueConverter get(Class<?> type) {
+    CellValueConverter converter = CONVERTERS.get(type);
+    if (converter != null) {
+      return converter;
+    }
+    return type.isEnum() ? ENUM_CONVERTERS.get(type) : Builtin.RAW;
+  }
+
+  /**
+   * 字段类型能否接收转换后的值.
+   *
+   * <p>表中的类型和枚举按类型转换；{@link Object} 字段接收单元格原始值；其他类型无法赋值
+   *
+   * @param type 字段类型
+   * @return 是否支持
+   */
+  public static boolean isSupported(Class<?> type) {
+    return CONVERTERS.containsKey(type) || type.isEnum() || type == Object.class;
+  }
+
+  /**
+   * 不含小数点和指数的整数文本.
+   *
+   * @param text 已去除首尾空格的文本
+   * @return 是否为整数
+   */
+  private static boolean isInteger(String text) {
+    int length = text.length();
+    if (length == 0 || length > 18) {
+      return false;
+    }
+    char first = text.charAt(0);
+    int start = (first == '-' || first == '+') ? 1 : 0;
+    if (start == length) {
+      return false;
+    }
+    for (int i = start; i < length; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 校验数字文本，格式错误时抛出不记录调用栈的异常，不经过 JDK 解析时创建的异常.
+   *
+   * @param text 已去除首尾空格的文本
+   * @return text
+   * @throws InvalidCellValueException 不是十进制数字
+   */
+  private static String checkDecimal(String text) {
+    int length = text.length();
+    int i = 0;
+    if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+      i++;
+    }
+    int digits = 0;
+    for (; i < length && isDigit(text.charAt(i)); i++) {
+      digits++;
+    }
+    if (i < length && text.charAt(i) == '.') {
+      for (i++; i < length && isDigit(text.charAt(i)); i++) {
+        digits++;
+      }
+    }
+    if (digits == 0) {
+      throw invalidNumber();
+    }
+    if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+      i++;
+      if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+        i++;
+      }
+      int exponentDigits = 0;
+      for (; i < length && isDigit(text.charAt(i)); i++) {
+        exponentDigits++;
+      }
+      if (exponentDigits == 0) {
+        throw invalidNumber();
+      }
+    }
+    if (i != length) {
+      throw invalidNumber();
+    }
+    return text;
+  }
+
+  /**
+   * 转换失败的异常，不记录调用栈. 每次创建新实例，不在调用之间共享.
+   */
+  private static InvalidCellValueException invalidNumber() {
+    return new InvalidCellValueException("不是数字");
+  }
+
+  /**
+   * 检查整数的范围，超出时按不是数字处理，不会被强制类型转换截断.
+   *
+   * @param value 整数或数字文本解析的值
+   * @param min 字段类型的最小值
+   * @param max 字段类型的最大值
+   * @return value
+   */
+  private static double checkRange(double value, long min, long max) {
+    if (!(value >= min && value <= max)) {
+      throw invalidNumber();
+    }
+    return value;
+  }
+
+  private static long checkRange(long value, long min, long max) {
+    if (value < min || value > max) {
+      throw invalidNumber();
+    }
+    return value;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /**
+   * 文本转日期时间，支持 {@link DateTimeUtil#parseDateTime(String)} 的格式和只有日期的格式.
+   *
+   * @param text 已去除首尾空格的文本
+   * @return 日期时间
+   */
+  private static LocalDateTime parseDateTime(String text) {
+    if (text.length() == 10 && text.charAt(4) == '-') {
+      return LocalDate.parse(text, SHORT_LINE.getFormatter())
+                      .atStartOfDay();
+    } else if (text.length() == 10 && text.charAt(4) == '/') {
+      return LocalDate.parse(text, SHORT_SLASH.getFormatter())
+                      .atStartOfDay();
+    }
+    return DateTimeUtil.parseDateTime(text);
+  }
+
+  private static LocalDateTime toLocalDateTime(Date date) {
+    return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+  }
+
+  /**
+   * 按常量名转换的枚举转换器.
+   */
+  private static final class EnumConverter implements CellValueConverter {
+
+    private final Map<String, Object> constants;
+
+    EnumConverter(Object[] enumConstants) {
+      Map<String, Object> byName = newHashMapWithExpectedSize(enumConstants.length);
+      for (Object constant : enumConstants) {
+        byName.put(((Enum<?>) constant).name(), constant);
+      }
+      this.constants = unmodifiableMap(byName);
+    }
+
+    @Override
+    public Object fromNumeric(double value) {
+      return fromString(NumberToTextConverter.toText(value));
+    }
+
+    @Override
+    public Object fromString(String value) {
+      String text = value.trim();
+      if (text.isEmpty()) {
+        return null;
+      }
+      Object constant = constants.get(text);
+      if (constant == null) {
+        throw new InvalidCellValueException("不是可选的值");
+      }
+      return constant;
+    }
+  }
+
+  /**
+   * 内置转换器.
+   */
+  private enum Builtin implements CellValueConverter {
+    STRING {
+      @Override
+      public Object fromNumeric(double value) {
+        return NumberToTextConverter.toText(value);
+      }
+
+      @Override
+      public Object fromString(String value) {
+        return value;
+      }
+    },
+    INTEGER {
+      @Override
+      public Object fromNumeric(double value) {
+        return (int) value;
+      }
+
+      @Override
+      public Object fromString(String value) {
+        String text = value.trim();
+        return isInteger(text)
+               ? (int) checkRange(Long.parseLong(text), Integer.MIN_VALUE, Integer.MAX_VALUE)
+               : (int) checkRange(
+                   Double.parseDouble(checkDecimal(text)),
+                   Integer.MIN_VALUE,
+                   Integer.MAX_VALUE);
+      }
+    },
+    LONG {
+      @Override
+      public Object fromNumeric(double value) {
+        return (long) value;
+      }
+
+      @Override
+      public Object fromString(String value) {
+        String text = value.trim();
+        if (isInteger(text)) {
+          return Long.parseLong(text);
+        }
+        BigDecimal decimal = new BigDecimal(checkDecimal(text));
+        if (decimal.compareTo(MIN_LONG) < 0 || decimal.compareTo(MAX_LONG) > 0) {
+          throw invalidNumber();
+        }
+        return decimal.longValue();
+      }
+    },
+    SHORT {
+      @Override
+      public Object fromNumeric(double value) {
+        return (short) value;
+      }
+
+      @Override
+      public Object fromString(String value) {
+        String text = value.trim();
+        return isInteger(text)
+               ? (short) checkRange(Long.parseLong(text), Short.MIN_VALUE, Short.MAX_VALUE)
+               : (short) checkRange(
+                   Double.parseDouble(checkDecimal(text)),
+                   Short.MIN_VALUE,
+                   Short.MAX_VALUE);
+      }
+    },
+    DOUBLE {
+      @Override
+      public Object fromNumeric(double value) {
+        return value;
+      }
+
+      @Override
+      public Object fromString(String value) {
+        return Double.parseDouble(checkDecimal(value.trim()));
+      }
+    },
+    FLOAT {
+      @Override
+      public Object fromNumeric(double value) {
+        return (float) value;
+      }
+
+      @Override
+      public Object fromString(String value) {
+        return Float.parseFloat(checkDecimal(value.trim()));
+      }
+    },
+    BOOLEAN {
+      @Override
+      public Object fromNumeric(double value) {
+        return value != 0;
+      }
+
+      @Override
+      public Object fromString(String value) {
+        String text = value.trim();
+        if ("true".equalsIgnoreCase(text) || "1".equals(text) || "是".equals(text)) {
+          return Boolean.TRUE;
+        } else if ("false".equalsIgnoreCase(text) || "0".equals(text) || "否".equals(text)) {
+          return Boolean.FALSE;
+        }
+        throw new InvalidCellValueException("不是布尔值");
+      }
+
+      @Override
+      public Object fromBoolean(boolean value) {
+        return value;
+      }
+    },
+    BIG_DECIMAL {
+      @Override
+      public Object fromNumeric(double value) {
+        return new BigDecimal(NumberToTextConverter.toText(value));
+      }
+
+      @Override
+      public Object fromString(String value) {
+        return new BigDecimal(checkDecimal(value.trim()));
+      }
+    },
+    DATE {
+      @Override
+      public Object fromNumeric(double value) {
+        return DateUtil.getJavaDate(value);
+      }
+
+      @Override
+      public Object fromString(String value) {
+        String text = value.trim();
+        if (text.isEmpty()) {
+          return null;
+        }
+        return Date.from(parseDateTime(text).atZone(ZoneId.systemDefault())
+                                            .toInstant());
+      }
+
+      @Override
+      public Object fromDate(Date value) {
+        return value;
+      }
+    },
+    LOCAL_DATE {
+      @Override
+      public Object fromNumeric(double value) {
+        return fromDate(DateUtil.getJavaDate(value));
+      }
+
+      @Override
+      public Object fromString(String value) {
+        String text = value.trim();
+        return text.isEmpty() ? null : parseDateTime(text).toLocalDate();
+      }
+
+      @Override
+      public Object fromDate(Date value) {
+        return toLocalDateTime(value).toLocalDate();
+      }
+    },
+    LOCAL_DATE_TIME {
+      @Override
+      public Object fromNumeric(double value) {
+        return fromDate(DateUtil.getJavaDate(value));
+      }
+
+      @Override
+      public Object fromString(String value) {
+        String text = value.trim();
+        return text.isEmpty() ? null : parseDateTime(text);
+      }
+
+      @Override
+      public Object fromDate(Date value) {
+        return toLocalDateTime(value);
+      }
+    },
+    /** 不支持的类型，数字转为显示文本，其他保持原始值. */
+    RAW {
+      @Override
+      public Object fromNumeric(double value) {
+        return NumberToTextConverter.toText(value);
+      }
+
+      @Override
+      public Object fromString(String value) {
+        return value;
+      }
+
+      @Override
+      public Object fromBoolean(boolean value) {
+        return value;
+      }
+
+      @Override
+      public Object fromDate(Date value) {
+        return value;
+      }
+
+      @Override
+      public Object fromError(byte errorCode) {
+        return errorCode;
+      }
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package cloud.mobe.utils.excel.convert;
+
+/**
+ * 单元格值无法转换为字段类型.
+ *
+ * <p>不记录调用栈，创建的开销与普通对象相同，校验大量错误数据时开销接近普通返回.
+ * 转换器每次失败都创建新实例，不共享，调用方可以正常添加被抑制的异常.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 20:20
+ */
+public class InvalidCellValueException extends IllegalArgumentException {
+
+  public InvalidCellValueException(String message) {
+    super(message);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
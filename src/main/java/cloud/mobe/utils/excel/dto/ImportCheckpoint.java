@@ -0,0 +1,30 @@
+package cloud.mobe.utils.excel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 可恢复导入的断点.
+ *
+ * <p>记录已提交的最后一批数据之后的行号，重新导入同一个文件时从该行开始读取
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 22:10
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportCheckpoint {
+
+  /** 源文件内容的 SHA-256. */
+  private String sourceHash;
+  /** sheet的序列号 0开始. */
+  private int sheetAt;
+  /** 下一个要读取的行号，0开始. */
+  private int rowNum;
+  /** 已提交的数据行数. */
+  private long rowCount;
+}
@@ -0,0 +1,127 @@
+package cloud.mobe.utils.excel.dto;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * 导入时的单元格错误汇总.
+ *
+ * <p>收集模式下单元格转换失败不抛出异常、不打印日志，只记录错误，读取结束后一次性返回给用户.
+ * 超过上限的错误只计数不保存. 非线程安全，每次读取使用一个实例
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 19:50
+ */
+public class ImportErrorReport {
+
+  /** 保存的错误数量上限. */
+  @Getter
+  private final int maxErrors;
+  private final List<CellError> errors = new ArrayList<>();
+  /** 错误总数，包括超过上限未保存的. */
+  @Getter
+  private int errorCount;
+
+  /**
+   * 不限制错误数量.
+   */
+  public ImportErrorReport() {
+    this(Integer.MAX_VALUE);
+  }
+
+  /**
+   * 限制保存的错误数量.
+   *
+   * @param maxErrors 保存的错误数量上限
+   */
+  public ImportErrorReport(int maxErrors) {
+    this.maxErrors = maxErrors;
+  }
+
+  /**
+   * 记录一个单元格错误.
+   *
+   * @param rowIndex 行号，0开始
+   * @param columnIndex 列号，0开始
+   * @param fieldName 字段名
+   * @param rawValue 单元格原始值
+   * @param fieldType 字段类型
+   */
+  public void add(
+      int rowIndex, int columnIndex, String fieldName, Object rawValue, Class<?> fieldType) {
+    this.errorCount++;
+    if (this.errors.size() < this.maxErrors) {
+      this.errors.add(new CellError(
+          rowIndex + 1,
+          columnIndex + 1,
+          fieldName,
+          String.valueOf(rawValue),
+          "不能转换为" + fieldType.getSimpleName()));
+    }
+  }
+
+  /**
+   * 是否有错误.
+   *
+   * @return 有错误返回true
+   */
+  public boolean hasErrors() {
+    return this.errorCount > 0;
+  }
+
+  /**
+   * 是否有超过上限未保存的错误.
+   *
+   * @return 有未保存的错误返回true
+   */
+  public boolean isTruncated() {
+    return this.errorCount > this.errors.size();
+  }
+
+  /**
+   * 保存的错误，按读取顺序排列.
+   *
+   * @return 不可修改的错误列表
+   */
+  public List<CellError> getErrors() {
+    return unmodifiableList(this.errors);
+  }
+
+  /**
+   * 单元格错误.
+   */
+  @Getter
+  public static class CellError {
+    /** 行号，1开始. */
+    private final int rowNum;
+    /** 列号，1开始. */
+    private final int columnNum;
+    /** 字段名. */
+    private final String fieldName;
+    /** 单元格原始值. */
+    private final String rawValue;
+    /** 错误原因. */
+    private final String reason;
+
+    CellError(int rowNum, int columnNum, String fieldName, String rawValue, String reason) {
+      this.rowNum = rowNum;
+      this.columnNum = columnNum;
+      this.fieldName = fieldName;
+      this.rawValue = rawValue;
+      this.reason = reason;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "第%s行，第%s列：%s %s",
+          rowNum,
+          columnNum,
+          rawValue,
+          reason);
+    }
+  }
+}
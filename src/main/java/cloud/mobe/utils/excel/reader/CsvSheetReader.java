@@ -0,0 +1,323 @@
+package cloud.mobe.utils.excel.reader;
+
+import static java.util.Collections.emptyMap;
+
+import cloud.mobe.utils.exception.MobeServiceException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * csv 文件的流式读取.
+ *
+ * <p>通过 {@link FileChannel} 按块解码读取，按 RFC 4180 处理引号、转义的双引号和字段内换行，
+ * 不构建 POI 对象模型，单元格原始值均为字符串. 未指定编码时按 BOM 识别，没有 BOM 时按 UTF-8 校验文件开头，
+ * 校验失败按 GB18030 读取. csv 只有一个sheet页
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 20:30
+ */
+public class CsvSheetReader implements SheetReader {
+
+  /** 读取缓冲区的字符数. */
+  private static final int BUFFER_SIZE = 64 * 1024;
+  /** 识别编码时读取的字节数. */
+  private static final int SAMPLE_SIZE = 64 * 1024;
+  private static final Charset GB18030 = Charset.forName("GB18030");
+
+  private final FileChannel channel;
+  private final Charset charset;
+  /** BOM 的字节数，读取时跳过. */
+  private final int bomLength;
+  /** 表头名称对应的列序号. */
+  private final Map<String, Integer> columnNames;
+  /** 表头的行号，小于0时为开始读取行的上一行. */
+  private final int headerRowNum;
+
+  /**
+   * 按列序号读取，自动识别编码.
+   *
+   * @param file csv 文件
+   * @throws IOException 打开文件的异常
+   */
+  public CsvSheetReader(File file) throws IOException {
+    this(file, null, emptyMap());
+  }
+
+  /**
+   * 打开 csv 文件.
+   *
+   * <p>columnNames 不为空时，数据开始行的上一行作为表头，按表头名称对应列序号，文件中的列顺序可以和定义不同；
+   * 表头中没有匹配的名称时按列序号读取
+   *
+   * @param file csv 文件
+   * @param charset 文件编码，为null时自动识别
+   * @param columnNames 表头名称对应的列序号
+   * @throws IOException 打开文件的异常
+   */
+  public CsvSheetReader(File file, Charset charset, Map<String, Integer> columnNames)
+      throws IOException {
+    this(file, charset, columnNames, -1);
+  }
+
+  /**
+   * 打开 csv 文件，指定表头的行号.
+   *
+   * <p>从断点继续读取时开始行不再是表头的下一行，需要单独指定表头的行号，
+   * 表头之后、开始行之前的行只解析，不回调
+   *
+   * @param file csv 文件
+   * @param charset 文件编码，为null时自动识别
+   * @param columnNames 表头名称对应的列序号
+   * @param headerRowNum 表头的行号，小于0时为开始读取行的上一行
+   * @throws IOException 打开文件的异常
+   */
+  public CsvSheetReader(
+      File file, Charset charset, Map<String, Integer> columnNames, int headerRowNum)
+      throws IOException {
+    this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      ByteBuffer sample = ByteBuffer.allocate(SAMPLE_SIZE);
+      while (sample.hasRemaining() && this.channel.read(sample, sample.position()) > 0) {
+        // 读满或读到文件末尾
+      }
+      sample.flip();
+      Charset bomCharset = bomCharset(sample);
+      this.bomLength = (bomCharset == null)
+                       ? 0
+                       : (bomCharset == StandardCharsets.UTF_8 ? 3 : 2);
+      if (charset != null) {
+        this.charset = charset;
+      } else if (bomCharset != null) {
+        this.charset = bomCharset;
+      } else {
+        this.charset = isUtf8(sample) ? StandardCharsets.UTF_8 : GB18030;
+      }
+    } catch (IOException | RuntimeException e) {
+      this.channel.close();
+      throw e;
+    }
+    this.columnNames = columnNames;
+    this.headerRowNum = headerRowNum;
+  }
+
+  @Override
+  public void read(int sheetAt, int firstRowNum, int columnCount, SheetRowHandler handler)
+      throws IOException {
+    if (sheetAt != 0) {
+      throw new MobeServiceException("sheet页不存在：" + sheetAt);
+    }
+    this.channel.position(this.bomLength);
+    CharsetDecoder decoder = this.charset.newDecoder()
+                                         .onMalformedInput(CodingErrorAction.REPLACE)
+                                         .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    // 不关闭 reader，通道在 close 时关闭
+    Reader reader = Channels.newReader(this.channel, decoder, BUFFER_SIZE);
+    new Parser(firstRowNum, columnCount, handler).parse(reader);
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  /**
+   * 文件使用的编码.
+   *
+   * @return 指定或识别的编码
+   */
+  public Charset getCharset() {
+    return charset;
+  }
+
+  private static Charset bomCharset(ByteBuffer sample) {
+    int length = sample.remaining();
+    if (length >= 3
+        && (sample.get(0) & 0xFF) == 0xEF
+        && (sample.get(1) & 0xFF) == 0xBB
+        && (sample.get(2) & 0xFF) == 0xBF) {
+      return StandardCharsets.UTF_8;
+    } else if (length >= 2 && (sample.get(0) & 0xFF) == 0xFF && (sample.get(1) & 0xFF) == 0xFE) {
+      return StandardCharsets.UTF_16LE;
+    } else if (length >= 2 && (sample.get(0) & 0xFF) == 0xFE && (sample.get(1) & 0xFF) == 0xFF) {
+      return StandardCharsets.UTF_16BE;
+    }
+    return null;
+  }
+
+  /**
+   * 文件开头能否按 UTF-8 解码，末尾被截断的字符不算错误.
+   *
+   * @param sample 文件开头的字节
+   * @return 是否为 UTF-8
+   */
+  private static boolean isUtf8(ByteBuffer sample) {
+    CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                                                   .onMalformedInput(CodingErrorAction.REPORT)
+                                                   .onUnmappableCharacter(CodingErrorAction.REPORT);
+    CharBuffer out = CharBuffer.allocate(sample.remaining());
+    return !decoder.decode(sample.duplicate(), out, false)
+                   .isError();
+  }
+
+  /**
+   * 按字符解析的状态机，一次读取使用一个实例.
+   */
+  private final class Parser {
+
+    private final int firstRowNum;
+    private final int headerRowNum;
+    private final int columnCount;
+    private final SheetRowHandler handler;
+    private final Object[] values;
+    private final StringBuilder field = new StringBuilder();
+    /** 表头行的名称，按表头名称对应列时使用. */
+    private final List<String> headerNames;
+    /** 文件列对应的列序号，为null时按文件列读取. */
+    private int[] mapping;
+    private int rowNum;
+    private int column;
+    /** 当前字段以引号开始. */
+    private boolean quoted;
+    /** 在引号内. */
+    private boolean inQuotes;
+    /** 上一个字符是引号内的引号，可能是结束引号或转义的第一个引号. */
+    private boolean afterQuote;
+    private boolean afterCr;
+
+    Parser(int firstRowNum, int columnCount, SheetRowHandler handler) {
+      this.firstRowNum = firstRowNum;
+      this.headerRowNum = (CsvSheetReader.this.headerRowNum < 0)
+                          ? firstRowNum - 1
+                          : CsvSheetReader.this.headerRowNum;
+      this.columnCount = columnCount;
+      this.handler = handler;
+      this.values = new Object[columnCount];
+      this.headerNames = columnNames.isEmpty() ? null : new ArrayList<>();
+    }
+
+    void parse(Reader reader) throws IOException {
+      char[] buffer = new char[BUFFER_SIZE];
+      int n;
+      while ((n = reader.read(buffer)) >= 0) {
+        for (int i = 0; i < n; i++) {
+          this.accept(buffer[i]);
+        }
+      }
+      // 最后一行没有换行符
+      if (this.column > 0 || this.field.length() > 0 || this.quoted) {
+        this.endField();
+        this.endRow();
+      }
+    }
+
+    private void accept(char c) {
+      if (this.inQuotes) {
+        if (c == '"') {
+          this.inQuotes = false;
+          this.afterQuote = true;
+        } else {
+          this.field.append(c);
+        }
+        return;
+      }
+      if (this.afterQuote) {
+        this.afterQuote = false;
+        if (c == '"') {
+          // 引号内的 "" 为一个双引号
+          this.field.append('"');
+          this.inQuotes = true;
+          return;
+        }
+      }
+      if (c == '\n' && this.afterCr) {
+        this.afterCr = false;
+        return;
+      }
+      this.afterCr = (c == '\r');
+      switch (c) {
+        case '"':
+          if (this.field.length() == 0 && !this.quoted) {
+            this.quoted = true;
+            this.inQuotes = true;
+          } else {
+            // 不规范的文件中字段中间的引号按原样保留
+            this.field.append(c);
+          }
+          break;
+        case ',':
+          this.endField();
+          break;
+        case '\r':
+        case '\n':
+          this.endField();
+          this.endRow();
+          break;
+        default:
+          this.field.append(c);
+      }
+    }
+
+    private void endField() {
+      if (this.headerNames != null && this.rowNum == this.headerRowNum) {
+        this.headerNames.add(this.field.toString()
+                                       .trim());
+      } else if (this.rowNum >= this.firstRowNum) {
+        int index = this.targetIndex(this.column);
+        if (index >= 0 && index < this.columnCount && this.field.length() > 0) {
+          this.values[index] = this.field.toString();
+        }
+      }
+      this.column++;
+      this.field.setLength(0);
+      this.quoted = false;
+    }
+
+    private void endRow() {
+      if (this.headerNames != null && this.rowNum == this.headerRowNum) {
+        this.mapping = this.mapHeader();
+      } else if (this.rowNum >= this.firstRowNum) {
+        this.handler.handle(this.rowNum, this.values);
+        Arrays.fill(this.values, null);
+      }
+      this.rowNum++;
+      this.column = 0;
+    }
+
+    private int targetIndex(int fileColumn) {
+      if (this.mapping == null) {
+        return fileColumn;
+      }
+      return (fileColumn < this.mapping.length) ? this.mapping[fileColumn] : -1;
+    }
+
+    /**
+     * 按表头名称对应列序号，未匹配的列不读取.
+     *
+     * @return 没有匹配的名称时返回null
+     */
+    private int[] mapHeader() {
+      int[] result = new int[this.headerNames.size()];
+      boolean matched = false;
+      for (int i = 0; i < result.length; i++) {
+        Integer index = columnNames.get(this.headerNames.get(i));
+        result[i] = (index == null) ? -1 : index;
+        matched |= (index != null);
+      }
+      return matched ? result : null;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package cloud.mobe.utils.excel.reader;
+
+import java.util.Arrays;
+import java.util.Objects;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.model.StylesTable;
+
+/**
+ * 按样式序号和格式字符串缓存的日期格式判断.
+ *
+ * <p>{@link DateUtil#isADateFormat(int, String)} 对每个格式字符串都要做多次正则匹配，
+ * 而一个 workbook 中不同的样式通常只有几个. 这里按样式序号缓存判断结果，命中时再比较格式字符串，
+ * 样式的格式被修改后重新判断. 只能在一个 workbook 内使用. 并发读取时最多重复计算，结果相同，不加锁
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 23:10
+ */
+public final class DateFormatCache {
+
+  /** 样式序号为 short，按无符号数最多 65536 个. */
+  private static final int MAX_STYLES = 1 << 16;
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private Entry[] entries;
+
+  /**
+   * 样式数量未知时使用，按需扩容.
+   */
+  public DateFormatCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * 按样式数量创建.
+   *
+   * @param styleCount workbook 的样式数量，超出时按需扩容
+   */
+  public DateFormatCache(int styleCount) {
+    this.entries = new Entry[Math.min(Math.max(styleCount, 1), MAX_STYLES)];
+  }
+
+  /**
+   * 单元格是否为日期，与 {@link DateUtil#isCellDateFormatted(Cell)} 的判断相同.
+   *
+   * @param cell 数字单元格或计算结果为数字的公式单元格
+   * @return 是否为日期
+   */
+  public boolean isCellDateFormatted(Cell cell) {
+    if (cell == null || !DateUtil.isValidExcelDate(cell.getNumericCellValue())) {
+      return false;
+    }
+    CellStyle style = cell.getCellStyle();
+    return (style != null) && this.isDateFormat(style);
+  }
+
+  /**
+   * 样式的数据格式是否为日期.
+   *
+   * @param style 样式
+   * @return 是否为日期格式
+   */
+  public boolean isDateFormat(CellStyle style) {
+    return this.isDateFormat(
+        style.getIndex(),
+        style.getDataFormat(),
+        style.getDataFormatString());
+  }
+
+  /**
+   * xlsx 样式的数据格式是否为日期，只读取样式的格式序号，不创建样式对象.
+   *
+   * @param styleIndex 单元格的样式序号
+   * @param stylesTable 样式表
+   * @return 是否为日期格式，样式不存在时返回false
+   */
+  public boolean isDateFormat(int styleIndex, StylesTable stylesTable) {
+    if (styleIndex < 0 || styleIndex >= stylesTable.getNumCellStyles()) {
+      return false;
+    }
+    short formatIndex = (short) stylesTable.getCellXfAt(styleIndex).getNumFmtId();
+    String formatString = stylesTable.getNumberFormatAt(formatIndex);
+    if (formatString == null) {
+      formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+    }
+    return this.isDateFormat(styleIndex, formatIndex, formatString);
+  }
+
+  /**
+   * xls 记录的数据格式是否为日期.
+   *
+   * @param record 单元格记录
+   * @param formatListener 记录格式的监听器
+   * @return 是否为日期格式
+   */
+  public boolean isDateFormat(
+      CellValueRecordInterface record, FormatTrackingHSSFListener formatListener) {
+    return this.isDateFormat(
+        record.getXFIndex(),
+        formatListener.getFormatIndex(record),
+        formatListener.getFormatString(record));
+  }
+
+  private boolean isDateFormat(int styleIndex, int formatIndex, String formatString) {
+    int index = styleIndex & 0xFFFF;
+    Entry[] current = this.entries;
+    Entry entry = (index < current.length) ? current[index] : null;
+    if (entry != null && entry.formatIndex == formatIndex
+        && Objects.equals(entry.formatString, formatString)) {
+      return entry.date;
+    }
+    boolean date = DateUtil.isADateFormat(formatIndex, formatString);
+    if (index >= current.length) {
+      int capacity = Math.min(Math.max(current.length * 2, index + 1), MAX_STYLES);
+      current = Arrays.copyOf(current, capacity);
+      this.entries = current;
+    }
+    current[index] = new Entry(formatIndex, formatString, date);
+    return date;
+  }
+
+  /**
+   * 一个样式的判断结果，字段不可变，并发读取时不会看到不完整的结果.
+   */
+  private static final class Entry {
+
+    private final int formatIndex;
+    private final String formatString;
+    private final boolean date;
+
+    Entry(int formatIndex, String formatString, boolean date) {
+      this.formatIndex = formatIndex;
+      this.formatString = formatString;
+      this.date = date;
+    }
+  }
+}
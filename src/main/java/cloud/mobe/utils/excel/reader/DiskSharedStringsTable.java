@@ -0,0 +1,253 @@
+package cloud.mobe.utils.excel.reader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.parsers.ParserConfigurationException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * 存放在磁盘临时文件中的共享字符串表.
+ *
+ * <p>解析 sharedStrings.xml 时逐个把字符串按 UTF-8 写入临时文件，内存中只保留每个字符串的偏移量，
+ * 读取时按偏移量从文件中解码，最近使用的字符串保存在 LRU 缓存中. 文本较多的文件导入时内存占用与不同字符串的数量无关.
+ * 字符串内容与 {@link ReadOnlySharedStringsTable} 相同. 非线程安全，关闭时删除临时文件
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 20:50
+ */
+@Slf4j
+public class DiskSharedStringsTable implements Closeable {
+
+  /** 写入临时文件的缓冲区大小. */
+  private static final int BUFFER_SIZE = 64 * 1024;
+  /** 按文件声明的字符串数量预分配偏移量的上限. */
+  private static final int MAX_PRESIZE = 1 << 20;
+
+  private final File file;
+  private final FileChannel channel;
+  /** 第 i 个字符串的开始位置，最后一个元素为文件末尾. */
+  private long[] offsets = new long[1024];
+  private int uniqueCount;
+  private final Map<Integer, String> cache;
+  private ByteBuffer readBuffer = ByteBuffer.allocate(1024);
+
+  /**
+   * 解析共享字符串表并写入临时文件.
+   *
+   * @param pkg xlsx 文件
+   * @param cacheSize 内存中缓存的字符串数量
+   * @throws IOException 读写文件的异常
+   * @throws SAXException 解析的异常
+   */
+  public DiskSharedStringsTable(OPCPackage pkg, int cacheSize) throws IOException, SAXException {
+    this.cache = new LinkedHashMap<Integer, String>(
+        Math.min(cacheSize, 1024) * 4 / 3 + 1,
+        0.75f,
+        true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+        return size() > cacheSize;
+      }
+    };
+    this.file = File.createTempFile(
+        "mobe-sst-",
+        ".tmp");
+    this.channel = FileChannel.open(
+        this.file.toPath(),
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    try {
+      List<PackagePart> parts = pkg.getPartsByContentType(
+          XSSFRelation.SHARED_STRINGS.getContentType());
+      if (!parts.isEmpty()) {
+        try (InputStream inputStream = parts.get(0)
+                                            .getInputStream()) {
+          this.parse(inputStream);
+        }
+      }
+    } catch (IOException | SAXException | RuntimeException e) {
+      this.close();
+      throw e;
+    }
+  }
+
+  /**
+   * 第 idx 个字符串.
+   *
+   * @param idx 序号，0开始
+   * @return 字符串
+   */
+  public String getString(int idx) {
+    if (idx < 0 || idx >= this.uniqueCount) {
+      throw new IndexOutOfBoundsException("共享字符串不存在：" + idx);
+    }
+    String value = this.cache.get(idx);
+    if (value == null) {
+      value = this.load(idx);
+      this.cache.put(idx, value);
+    }
+    return value;
+  }
+
+  /**
+   * 不同字符串的数量.
+   *
+   * @return 字符串数量
+   */
+  public int getUniqueCount() {
+    return this.uniqueCount;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      this.channel.close();
+    } finally {
+      if (!this.file.delete()) {
+        log.warn("临时文件删除失败 - {}", this.file);
+      }
+    }
+  }
+
+  private String load(int idx) {
+    int length = (int) (this.offsets[idx + 1] - this.offsets[idx]);
+    if (this.readBuffer.capacity() < length) {
+      this.readBuffer = ByteBuffer.allocate(Math.max(length, this.readBuffer.capacity() * 2));
+    }
+    this.readBuffer.clear()
+                   .limit(length);
+    try {
+      long position = this.offsets[idx];
+      while (this.readBuffer.hasRemaining()) {
+        int n = this.channel.read(this.readBuffer, position + this.readBuffer.position());
+        if (n < 0) {
+          throw new IOException("共享字符串文件不完整");
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          "读取共享字符串失败",
+          e);
+    }
+    return new String(
+        this.readBuffer.array(),
+        0,
+        length,
+        StandardCharsets.UTF_8);
+  }
+
+  private void parse(InputStream inputStream) throws IOException, SAXException {
+    XMLReader xmlReader;
+    try {
+      xmlReader = SAXHelper.newXMLReader();
+    } catch (ParserConfigurationException e) {
+      throw new SAXException(e);
+    }
+    StringsHandler handler = new StringsHandler();
+    xmlReader.setContentHandler(handler);
+    xmlReader.parse(new InputSource(inputStream));
+    handler.flush();
+  }
+
+  /**
+   * sharedStrings.xml 的 SAX 处理器，每个 si 元素写入一个字符串.
+   */
+  private final class StringsHandler extends DefaultHandler {
+
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder text = new StringBuilder();
+    private long position;
+    private boolean inText;
+
+    @Override
+    public void startElement(String uri, String localName, String name, Attributes attributes) {
+      switch (localName) {
+        case "sst":
+          String count = attributes.getValue("uniqueCount");
+          if (count != null) {
+            // 按声明的数量预分配，数量不可信，超出时再扩容
+            offsets = new long[Math.min(Integer.parseInt(count), MAX_PRESIZE) + 1];
+          }
+          break;
+        case "si":
+          text.setLength(0);
+          break;
+        case "t":
+          inText = true;
+          break;
+        default:
+          break;
+      }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+      if (inText) {
+        text.append(ch, start, length);
+      }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String name) throws SAXException {
+      if ("t".equals(localName)) {
+        inText = false;
+      } else if ("si".equals(localName)) {
+        try {
+          this.write(text.toString()
+                         .getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+          throw new SAXException(e);
+        }
+      }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+      if (uniqueCount + 1 >= offsets.length) {
+        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+      }
+      offsets[uniqueCount++] = position;
+      position += bytes.length;
+      offsets[uniqueCount] = position;
+      if (bytes.length > writeBuffer.remaining()) {
+        this.flush();
+      }
+      if (bytes.length > writeBuffer.capacity()) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      } else {
+        writeBuffer.put(bytes);
+      }
+    }
+
+    void flush() throws IOException {
+      writeBuffer.flip();
+      while (writeBuffer.hasRemaining()) {
+        channel.write(writeBuffer);
+      }
+      writeBuffer.clear();
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package cloud.mobe.utils.excel.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * sheet页的流式读取.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 11:10
+ */
+public interface SheetReader extends Closeable {
+
+  /**
+   * 读取sheet页.
+   *
+   * @param sheetAt sheet的序列号 0开始
+   * @param firstRowNum 开始读取的行号，之前的行不回调
+   * @param columnCount 读取的列数，超出的列忽略
+   * @param handler 行处理器
+   * @throws IOException 读取文件的异常
+   */
+  void read(int sheetAt, int firstRowNum, int columnCount, SheetRowHandler handler)
+      throws IOException;
+}
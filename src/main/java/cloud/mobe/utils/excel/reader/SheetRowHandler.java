@@ -0,0 +1,21 @@
+package cloud.mobe.utils.excel.reader;
+
+/**
+ * 流式读取时的行处理器.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 09:30
+ */
+@FunctionalInterface
+public interface SheetRowHandler {
+
+  /**
+   * 处理一行数据.
+   *
+   * <p>values 在行之间复用，处理器不能持有该数组的引用
+   *
+   * @param rowNum 行号，0开始
+   * @param values 按列序号存放的单元格原始值，空单元格为null
+   */
+  void handle(int rowNum, Object[] values);
+}
@@ -0,0 +1,235 @@
+package cloud.mobe.utils.excel.reader;
+
+import cloud.mobe.utils.exception.MobeServiceException;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+/**
+ * xls 流式读取.
+ *
+ * <p>基于 {@link HSSFEventFactory} 的记录事件解析 workbook 流，不构建 workbook 对象模型，一次遍历完成读取.
+ * 公式单元格读取文件中缓存的计算结果.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 11:10
+ */
+public class XlsSheetReader implements SheetReader {
+
+  /**
+   * 公式缓存结果类型的代码. {@link FormulaRecord#getCachedResultType()} 只返回代码，
+   * 从记录本身取得各类型的代码，不依赖已废弃的 {@link CellType} 代码转换.
+   */
+  private static final int NUMERIC_RESULT = new FormulaRecord().getCachedResultType();
+  private static final int BOOLEAN_RESULT = booleanResultType();
+  private static final int ERROR_RESULT = errorResultType();
+
+  private final POIFSFileSystem fileSystem;
+
+  /**
+   * 以只读方式打开文件.
+   *
+   * @param file xls 文件
+   * @throws IOException 打开文件的异常
+   */
+  public XlsSheetReader(File file) throws IOException {
+    this.fileSystem = new POIFSFileSystem(file, true);
+  }
+
+  @Override
+  public void read(int sheetAt, int firstRowNum, int columnCount, SheetRowHandler handler)
+      throws IOException {
+    RecordHandler recordHandler = new RecordHandler(
+        sheetAt,
+        firstRowNum,
+        columnCount,
+        handler);
+    FormatTrackingHSSFListener formatListener = new FormatTrackingHSSFListener(
+        new MissingRecordAwareHSSFListener(recordHandler));
+    recordHandler.formatListener = formatListener;
+
+    HSSFRequest request = new HSSFRequest();
+    request.addListenerForAllRecords(formatListener);
+    new HSSFEventFactory().processWorkbookEvents(request, fileSystem);
+    if (!recordHandler.sheetFound) {
+      throw new MobeServiceException(String.format(
+          "sheet页不存在：%s",
+          sheetAt));
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.fileSystem.close();
+  }
+
+  /**
+   * 公式缓存结果的类型.
+   *
+   * @param record 公式记录
+   * @return 有缓存的字符串时为 {@link CellType#STRING}，空字符串为 {@link CellType#BLANK}
+   */
+  private static CellType cachedResultType(FormulaRecord record) {
+    int resultType = record.getCachedResultType();
+    if (resultType == NUMERIC_RESULT) {
+      return CellType.NUMERIC;
+    } else if (resultType == BOOLEAN_RESULT) {
+      return CellType.BOOLEAN;
+    } else if (resultType == ERROR_RESULT) {
+      return CellType.ERROR;
+    }
+    return record.hasCachedResultString() ? CellType.STRING : CellType.BLANK;
+  }
+
+  private static int booleanResultType() {
+    FormulaRecord record = new FormulaRecord();
+    record.setCachedResultBoolean(false);
+    return record.getCachedResultType();
+  }
+
+  private static int errorResultType() {
+    FormulaRecord record = new FormulaRecord();
+    record.setCachedResultErrorCode(0);
+    return record.getCachedResultType();
+  }
+
+  /**
+   * workbook 记录处理器.
+   */
+  private static class RecordHandler implements HSSFListener {
+
+    private final int sheetAt;
+    private final int firstRowNum;
+    private final SheetRowHandler handler;
+    private final Object[] values;
+    private final DateFormatCache dateFormats = new DateFormatCache();
+
+    private FormatTrackingHSSFListener formatListener;
+    private SSTRecord sstRecord;
+    private int currentSheet = -1;
+    private boolean sheetFound;
+    /** 公式结果为字符串时，结果在随后的 StringRecord 中. */
+    private int formulaColumn = -1;
+
+    RecordHandler(int sheetAt, int firstRowNum, int columnCount, SheetRowHandler handler) {
+      this.sheetAt = sheetAt;
+      this.firstRowNum = firstRowNum;
+      this.handler = handler;
+      this.values = new Object[columnCount];
+    }
+
+    @Override
+    public void processRecord(Record record) {
+      switch (record.getSid()) {
+        case BOFRecord.sid:
+          if (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+            currentSheet++;
+            sheetFound |= currentSheet == sheetAt;
+          }
+          return;
+        case SSTRecord.sid:
+          sstRecord = (SSTRecord) record;
+          return;
+        default:
+          break;
+      }
+      if (currentSheet != sheetAt) {
+        return;
+      }
+
+      if (record instanceof LastCellOfRowDummyRecord) {
+        int rowNum = ((LastCellOfRowDummyRecord) record).getRow();
+        if (rowNum >= firstRowNum) {
+          handler.handle(rowNum, values);
+          Arrays.fill(values, null);
+        }
+        return;
+      }
+      if (record.getSid() == StringRecord.sid) {
+        if (formulaColumn >= 0) {
+          values[formulaColumn] = ((StringRecord) record).getString();
+          formulaColumn = -1;
+        }
+        return;
+      }
+      if (!(record instanceof CellValueRecordInterface)) {
+        return;
+      }
+      CellValueRecordInterface cellRecord = (CellValueRecordInterface) record;
+      int column = cellRecord.getColumn();
+      if (cellRecord.getRow() < firstRowNum || column >= values.length) {
+        return;
+      }
+      values[column] = cellValue(record, column);
+    }
+
+    /**
+     * 单元格原始值.
+     *
+     * @param record 单元格记录
+     * @param column 列号
+     * @return 字符串、数字、日期、布尔值或错误码，空单元格返回null
+     */
+    private Object cellValue(Record record, int column) {
+      switch (record.getSid()) {
+        case NumberRecord.sid:
+          NumberRecord numberRecord = (NumberRecord) record;
+          return numericValue(numberRecord, numberRecord.getValue());
+        case LabelSSTRecord.sid:
+          return sstRecord.getString(((LabelSSTRecord) record).getSSTIndex())
+                          .getString();
+        case LabelRecord.sid:
+          return ((LabelRecord) record).getValue();
+        case BoolErrRecord.sid:
+          BoolErrRecord boolErrRecord = (BoolErrRecord) record;
+          return boolErrRecord.isBoolean()
+                 ? (Object) boolErrRecord.getBooleanValue()
+                 : (Object) boolErrRecord.getErrorValue();
+        case FormulaRecord.sid:
+          FormulaRecord formulaRecord = (FormulaRecord) record;
+          switch (cachedResultType(formulaRecord)) {
+            case NUMERIC:
+              return numericValue(formulaRecord, formulaRecord.getValue());
+            case BOOLEAN:
+              return formulaRecord.getCachedBooleanValue();
+            case ERROR:
+              return (byte) formulaRecord.getCachedErrorValue();
+            case STRING:
+              formulaColumn = column;
+              return null;
+            default:
+              return null;
+          }
+        default:
+          return null;
+      }
+    }
+
+    private Object numericValue(CellValueRecordInterface record, double value) {
+      if (DateUtil.isValidExcelDate(value)
+          && dateFormats.isDateFormat(record, formatListener)) {
+        return DateUtil.getJavaDate(value);
+      }
+      return value;
+    }
+  }
+}
@@ -0,0 +1,357 @@
+package cloud.mobe.utils.excel.reader;
+
+import cloud.mobe.utils.excel.ExcelErrorCode;
+import cloud.mobe.utils.exception.MobeErrorCodeException;
+import cloud.mobe.utils.exception.MobeServiceException;
+import com.google.common.collect.Lists;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * xlsx 流式读取.
+ *
+ * <p>基于 {@link XSSFReader} 和 SAX 解析 sheet，不构建 workbook 对象模型，内存占用与文件大小无关.
+ * 公式单元格读取文件中缓存的计算结果. 共享字符串表默认全部读入内存，
+ * 不同字符串很多时可以使用 {@link DiskSharedStringsTable} 存放在磁盘.
+ *
+ * <p>共享字符串表和样式表在第一次读取时加载，之后读取各个sheet页时共用，只读不修改.
+ * 同一个实例可以在多个线程中并发读取不同的sheet页，每次读取使用独立的解析器和 sheet 数据流.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 09:30
+ */
+public class XlsxSheetReader implements SheetReader {
+
+  private final OPCPackage pkg;
+  /** 共享字符串表在内存中缓存的字符串数量，为0时全部读入内存. */
+  private final int sharedStringsCacheSize;
+  /** 第一次读取时加载. */
+  private SharedTables tables;
+
+  /**
+   * 以只读方式打开文件，共享字符串表全部读入内存.
+   *
+   * @param file xlsx 文件
+   * @throws IOException 打开文件的异常
+   */
+  public XlsxSheetReader(File file) throws IOException {
+    this(file, 0);
+  }
+
+  /**
+   * 以只读方式打开文件.
+   *
+   * @param file xlsx 文件
+   * @param sharedStringsCacheSize 大于0时共享字符串表存放在磁盘临时文件，内存中缓存指定数量的字符串
+   * @throws IOException 打开文件的异常
+   */
+  public XlsxSheetReader(File file, int sharedStringsCacheSize) throws IOException {
+    this.sharedStringsCacheSize = sharedStringsCacheSize;
+    try {
+      this.pkg = OPCPackage.open(file, PackageAccess.READ);
+    } catch (InvalidFormatException e) {
+      throw new MobeErrorCodeException(
+          ExcelErrorCode.FORMAT_MISMATCH,
+          e);
+    }
+  }
+
+  @Override
+  public void read(int sheetAt, int firstRowNum, int columnCount, SheetRowHandler handler)
+      throws IOException {
+    SharedTables tables = this.sharedTables();
+    if (sheetAt < 0 || sheetAt >= tables.sheetParts.size()) {
+      throw new MobeServiceException(String.format(
+          "sheet页不存在：%s",
+          sheetAt));
+    }
+    try (InputStream sheet = tables.sheetParts.get(sheetAt)
+                                              .getInputStream()) {
+      XMLReader xmlReader = SAXHelper.newXMLReader();
+      xmlReader.setContentHandler(new SheetHandler(
+          tables.sharedStrings,
+          tables.stylesTable,
+          firstRowNum,
+          columnCount,
+          handler));
+      xmlReader.parse(new InputSource(sheet));
+    } catch (SAXException | ParserConfigurationException e) {
+      throw new MobeServiceException(
+          "读取excel文件失败",
+          e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      if (this.tables != null && this.tables.diskSharedStrings != null) {
+        this.tables.diskSharedStrings.close();
+      }
+    } finally {
+      this.pkg.revert();
+    }
+  }
+
+  /**
+   * 第一次读取时加载共享字符串表、样式表和sheet页列表，之后的读取共用.
+   *
+   * @return 共用的只读数据
+   * @throws IOException 读取文件的异常
+   */
+  private synchronized SharedTables sharedTables() throws IOException {
+    if (this.tables != null) {
+      return this.tables;
+    }
+    DiskSharedStringsTable diskSharedStrings = null;
+    try {
+      XSSFReader xssfReader = new XSSFReader(pkg);
+      IntFunction<String> sharedStrings;
+      if (this.sharedStringsCacheSize > 0) {
+        DiskSharedStringsTable disk = new DiskSharedStringsTable(
+            pkg,
+            this.sharedStringsCacheSize);
+        diskSharedStrings = disk;
+        // 磁盘共享字符串表带有 LRU 缓存，并发读取sheet页时加锁
+        sharedStrings = index -> {
+          synchronized (disk) {
+            return disk.getString(index);
+          }
+        };
+      } else {
+        ReadOnlySharedStringsTable readOnlySharedStrings = new ReadOnlySharedStringsTable(pkg);
+        sharedStrings = index -> readOnlySharedStrings.getItemAt(index)
+                                                      .getString();
+      }
+      StylesTable stylesTable = xssfReader.getStylesTable();
+
+      List<PackagePart> sheetParts = Lists.newArrayList();
+      XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+      while (sheets.hasNext()) {
+        sheets.next()
+              .close();
+        sheetParts.add(sheets.getSheetPart());
+      }
+      this.tables = new SharedTables(
+          sharedStrings,
+          stylesTable,
+          sheetParts,
+          diskSharedStrings);
+      return this.tables;
+    } catch (OpenXML4JException | SAXException e) {
+      if (diskSharedStrings != null) {
+        diskSharedStrings.close();
+      }
+      throw new MobeServiceException(
+          "读取excel文件失败",
+          e);
+    } catch (IOException | RuntimeException e) {
+      if (diskSharedStrings != null) {
+        diskSharedStrings.close();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * 列名转换为列序号，A为0.
+   *
+   * @param reference 单元格位置，如 AB12
+   * @return 列序号
+   */
+  static int columnIndex(String reference) {
+    int column = 0;
+    for (int i = 0; i < reference.length(); i++) {
+      char c = reference.charAt(i);
+      if (c < 'A' || c > 'Z') {
+        break;
+      }
+      column = column * 26 + (c - 'A' + 1);
+    }
+    return column - 1;
+  }
+
+  /**
+   * 各个sheet页共用的只读数据.
+   */
+  private static final class SharedTables {
+
+    private final IntFunction<String> sharedStrings;
+    private final StylesTable stylesTable;
+    private final List<PackagePart> sheetParts;
+    /** 共享字符串表存放在磁盘时关闭读取器需要删除临时文件，否则为null. */
+    private final DiskSharedStringsTable diskSharedStrings;
+
+    SharedTables(
+        IntFunction<String> sharedStrings,
+        StylesTable stylesTable,
+        List<PackagePart> sheetParts,
+        DiskSharedStringsTable diskSharedStrings) {
+      this.sharedStrings = sharedStrings;
+      this.stylesTable = stylesTable;
+      this.sheetParts = sheetParts;
+      this.diskSharedStrings = diskSharedStrings;
+    }
+  }
+
+  /**
+   * sheet 的 SAX 处理器.
+   */
+  private static class SheetHandler extends DefaultHandler {
+
+    private final IntFunction<String> sharedStrings;
+    private final StylesTable stylesTable;
+    private final int firstRowNum;
+    private final SheetRowHandler handler;
+    private final Object[] values;
+    private final StringBuilder text = new StringBuilder();
+    private final DateFormatCache dateFormats;
+
+    private int rowNum = -1;
+    private int columnIndex = -1;
+    private String cellType;
+    private int styleIndex;
+    private boolean inValue;
+    private boolean inInlineString;
+
+    SheetHandler(
+        IntFunction<String> sharedStrings,
+        StylesTable stylesTable,
+        int firstRowNum,
+        int columnCount,
+        SheetRowHandler handler) {
+      this.sharedStrings = sharedStrings;
+      this.stylesTable = stylesTable;
+      this.dateFormats = new DateFormatCache(
+          (stylesTable == null) ? 0 : stylesTable.getNumCellStyles());
+      this.firstRowNum = firstRowNum;
+      this.handler = handler;
+      this.values = new Object[columnCount];
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String name, Attributes attributes) {
+      switch (localName) {
+        case "row":
+          String r = attributes.getValue("r");
+          rowNum = (r == null) ? rowNum + 1 : Integer.parseInt(r) - 1;
+          columnIndex = -1;
+          break;
+        case "c":
+          String reference = attributes.getValue("r");
+          columnIndex = (reference == null) ? columnIndex + 1 : columnIndex(reference);
+          cellType = attributes.getValue("t");
+          String s = attributes.getValue("s");
+          styleIndex = (s == null) ? 0 : Integer.parseInt(s);
+          text.setLength(0);
+          break;
+        case "v":
+          inValue = true;
+          text.setLength(0);
+          break;
+        case "is":
+          inInlineString = true;
+          text.setLength(0);
+          break;
+        default:
+          break;
+      }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+      // 开始行之前的行只解析行号，不保存单元格文本
+      if ((inValue || inInlineString) && rowNum >= firstRowNum) {
+        text.append(ch, start, length);
+      }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String name) {
+      switch (localName) {
+        case "v":
+          inValue = false;
+          break;
+        case "is":
+          inInlineString = false;
+          break;
+        case "c":
+          if (rowNum >= firstRowNum && columnIndex >= 0 && columnIndex < values.length) {
+            values[columnIndex] = cellValue();
+          }
+          break;
+        case "row":
+          if (rowNum >= firstRowNum) {
+            handler.handle(rowNum, values);
+            Arrays.fill(values, null);
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    /**
+     * 单元格原始值.
+     *
+     * @return 字符串、数字、日期、布尔值或错误码，空单元格返回null
+     */
+    private Object cellValue() {
+      if (text.length() == 0) {
+        return null;
+      }
+      String value = text.toString();
+      if (cellType == null || "n".equals(cellType)) {
+        double numericValue = Double.parseDouble(value);
+        if (isDateFormatted(numericValue)) {
+          return DateUtil.getJavaDate(numericValue);
+        }
+        return numericValue;
+      }
+      switch (cellType) {
+        case "s":
+          return sharedStrings.apply(Integer.parseInt(value));
+        case "inlineStr":
+        case "str":
+          return value;
+        case "b":
+          return "1".equals(value);
+        case "e":
+          return FormulaError.forString(value).getCode();
+        default:
+          return value;
+      }
+    }
+
+    private boolean isDateFormatted(double value) {
+      if (styleIndex == 0 || stylesTable == null) {
+        return false;
+      }
+      if (!DateUtil.isValidExcelDate(value)) {
+        return false;
+      }
+      return dateFormats.isDateFormat(styleIndex, stylesTable);
+    }
+  }
+}
@@ -0,0 +1,277 @@
+package cloud.mobe.utils.excel.writer;
+
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellUtil;
+
+/**
+ * 一次导出范围内的单元格样式缓存.
+ *
+ * <p>以完整的样式属性 map 为 key，相同属性的样式只创建一次，之后按引用复用，
+ * 替代每次都遍历 workbook 全部样式的 {@link CellUtil#setCellStyleProperties(Cell, Map)}.
+ * 属性 key 和取值与 {@link CellUtil} 相同，也接受数字形式的边框、填充和对齐方式.
+ * 创建时读取 workbook 已有的样式，不会重复创建已存在的样式；修改单个属性的结果按样式下标、属性和值缓存，
+ * 重复设置时不再构建属性 map.
+ * 缓存记录的是创建时的样式属性，使用期间不能直接修改 workbook 中的样式，所以每次导出或设置边框时单独创建，
+ * 由写入方持有，用完即弃. 非线程安全
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 14:05
+ */
+public class CellStyleRegistry {
+
+  /** CellUtil 中定义的样式属性数量. */
+  private static final int PROPERTY_SIZE = 20;
+
+  private final Workbook workbook;
+  /** 新样式未设置的属性取 workbook 默认样式的值. */
+  private final Map<String, Object> defaultProperties;
+  /** 完整的样式属性到样式下标. */
+  private final Map<Map<String, Object>, Integer> styles = new HashMap<>();
+  /** 调用方传入的属性到样式下标，命中时不再补全默认值. */
+  private final Map<Map<String, Object>, Integer> requested = new HashMap<>();
+  /** 按样式下标排列的样式. */
+  private final List<StyleEntry> entries = new ArrayList<>();
+  private int createdSize;
+
+  /**
+   * 创建样式缓存，读取 workbook 已有的样式.
+   *
+   * @param workbook workbook
+   */
+  public CellStyleRegistry(Workbook workbook) {
+    this.workbook = workbook;
+    this.defaultProperties = readProperties(workbook.getCellStyleAt(0));
+    int numCellStyles = workbook.getNumCellStyles();
+    for (int i = 0; i < numCellStyles; i++) {
+      this.register(i, workbook.getCellStyleAt(i));
+    }
+  }
+
+  /**
+   * 获取样式，不存在时创建.
+   *
+   * @param styleProperties 样式属性，未设置的属性使用默认值
+   * @return 样式
+   */
+  public CellStyle getCellStyle(Map<String, Object> styleProperties) {
+    Integer index = requested.get(styleProperties);
+    if (index == null) {
+      Map<String, Object> key = newHashMapWithExpectedSize(PROPERTY_SIZE);
+      key.putAll(defaultProperties);
+      for (Map.Entry<String, Object> entry : styleProperties.entrySet()) {
+        key.put(entry.getKey(), normalize(entry.getKey(), entry.getValue()));
+      }
+      index = this.lookup(key);
+      requested.put(new HashMap<>(styleProperties), index);
+    }
+    return entries.get(index).style;
+  }
+
+  /**
+   * 设置单元格样式.
+   *
+   * @param cell 单元格
+   * @param styleProperties 样式属性
+   */
+  public void setCellStyle(Cell cell, Map<String, Object> styleProperties) {
+    cell.setCellStyle(this.getCellStyle(styleProperties));
+  }
+
+  /**
+   * 在单元格当前样式的基础上修改一个属性.
+   *
+   * @param cell 单元格
+   * @param name 属性名
+   * @param value 属性值
+   */
+  public void setCellStyleProperty(Cell cell, String name, Object value) {
+    CellStyle current = cell.getCellStyle();
+    int currentIndex = current.getIndex() & 0xFFFF;
+    StyleEntry entry = this.entry(currentIndex, current);
+    Object normalized = normalize(name, value);
+    Map<Object, Integer> transitions = entry.transitions.computeIfAbsent(
+        name,
+        key -> new HashMap<>());
+    Integer index = transitions.get(normalized);
+    if (index == null) {
+      if (normalized.equals(entry.properties.get(name))) {
+        index = currentIndex;
+      } else {
+        Map<String, Object> key = newHashMapWithExpectedSize(PROPERTY_SIZE);
+        key.putAll(entry.properties);
+        key.put(name, normalized);
+        index = this.lookup(key);
+      }
+      transitions.put(normalized, index);
+    }
+    if (index != currentIndex) {
+      cell.setCellStyle(entries.get(index).style);
+    }
+  }
+
+  /**
+   * 通过缓存新创建的样式数量，不包含 workbook 原有的样式.
+   *
+   * @return 样式数量
+   */
+  public int size() {
+    return createdSize;
+  }
+
+  /**
+   * 获取样式下标对应的缓存，创建缓存后在 workbook 中新增的样式按当前属性登记.
+   */
+  private StyleEntry entry(int index, CellStyle style) {
+    StyleEntry entry = (index < entries.size()) ? entries.get(index) : null;
+    return (entry == null) ? this.register(index, style) : entry;
+  }
+
+  private StyleEntry register(int index, CellStyle style) {
+    StyleEntry entry = new StyleEntry(style, readProperties(style));
+    while (entries.size() <= index) {
+      entries.add(null);
+    }
+    entries.set(index, entry);
+    styles.putIfAbsent(entry.properties, index);
+    return entry;
+  }
+
+  private int lookup(Map<String, Object> key) {
+    Integer index = styles.get(key);
+    if (index != null) {
+      return index;
+    }
+    CellStyle cellStyle = workbook.createCellStyle();
+    applyProperties(workbook, cellStyle, key);
+    int newIndex = cellStyle.getIndex() & 0xFFFF;
+    while (entries.size() <= newIndex) {
+      entries.add(null);
+    }
+    entries.set(newIndex, new StyleEntry(cellStyle, key));
+    styles.put(key, newIndex);
+    createdSize++;
+    return newIndex;
+  }
+
+  /**
+   * 读取样式的全部属性.
+   *
+   * @param style 样式
+   * @return 属性 map
+   */
+  private static Map<String, Object> readProperties(CellStyle style) {
+    Map<String, Object> styleProperties = newHashMapWithExpectedSize(PROPERTY_SIZE);
+    styleProperties.put(CellUtil.ALIGNMENT, style.getAlignment());
+    styleProperties.put(CellUtil.VERTICAL_ALIGNMENT, style.getVerticalAlignment());
+    styleProperties.put(CellUtil.BORDER_BOTTOM, style.getBorderBottom());
+    styleProperties.put(CellUtil.BORDER_LEFT, style.getBorderLeft());
+    styleProperties.put(CellUtil.BORDER_RIGHT, style.getBorderRight());
+    styleProperties.put(CellUtil.BORDER_TOP, style.getBorderTop());
+    styleProperties.put(CellUtil.BOTTOM_BORDER_COLOR, style.getBottomBorderColor());
+    styleProperties.put(CellUtil.DATA_FORMAT, style.getDataFormat());
+    styleProperties.put(CellUtil.FILL_PATTERN, style.getFillPattern());
+    styleProperties.put(CellUtil.FILL_FOREGROUND_COLOR, style.getFillForegroundColor());
+    styleProperties.put(CellUtil.FILL_BACKGROUND_COLOR, style.getFillBackgroundColor());
+    styleProperties.put(CellUtil.FONT, style.getFontIndexAsInt());
+    styleProperties.put(CellUtil.HIDDEN, style.getHidden());
+    styleProperties.put(CellUtil.INDENTION, style.getIndention());
+    styleProperties.put(CellUtil.LEFT_BORDER_COLOR, style.getLeftBorderColor());
+    styleProperties.put(CellUtil.LOCKED, style.getLocked());
+    styleProperties.put(CellUtil.RIGHT_BORDER_COLOR, style.getRightBorderColor());
+    styleProperties.put(CellUtil.ROTATION, style.getRotation());
+    styleProperties.put(CellUtil.TOP_BORDER_COLOR, style.getTopBorderColor());
+    styleProperties.put(CellUtil.WRAP_TEXT, style.getWrapText());
+    return styleProperties;
+  }
+
+  /**
+   * 将属性设置到样式.
+   *
+   * @param workbook workbook
+   * @param style 样式
+   * @param styleProperties 完整的属性 map
+   */
+  private static void applyProperties(
+      Workbook workbook, CellStyle style, Map<String, Object> styleProperties) {
+    style.setAlignment((HorizontalAlignment) styleProperties.get(CellUtil.ALIGNMENT));
+    style.setVerticalAlignment(
+        (VerticalAlignment) styleProperties.get(CellUtil.VERTICAL_ALIGNMENT));
+    style.setBorderBottom((BorderStyle) styleProperties.get(CellUtil.BORDER_BOTTOM));
+    style.setBorderLeft((BorderStyle) styleProperties.get(CellUtil.BORDER_LEFT));
+    style.setBorderRight((BorderStyle) styleProperties.get(CellUtil.BORDER_RIGHT));
+    style.setBorderTop((BorderStyle) styleProperties.get(CellUtil.BORDER_TOP));
+    style.setBottomBorderColor((Short) styleProperties.get(CellUtil.BOTTOM_BORDER_COLOR));
+    style.setDataFormat((Short) styleProperties.get(CellUtil.DATA_FORMAT));
+    style.setFillPattern((FillPatternType) styleProperties.get(CellUtil.FILL_PATTERN));
+    style.setFillForegroundColor((Short) styleProperties.get(CellUtil.FILL_FOREGROUND_COLOR));
+    style.setFillBackgroundColor((Short) styleProperties.get(CellUtil.FILL_BACKGROUND_COLOR));
+    style.setFont(workbook.getFontAt((Integer) styleProperties.get(CellUtil.FONT)));
+    style.setHidden((Boolean) styleProperties.get(CellUtil.HIDDEN));
+    style.setIndention((Short) styleProperties.get(CellUtil.INDENTION));
+    style.setLeftBorderColor((Short) styleProperties.get(CellUtil.LEFT_BORDER_COLOR));
+    style.setLocked((Boolean) styleProperties.get(CellUtil.LOCKED));
+    style.setRightBorderColor((Short) styleProperties.get(CellUtil.RIGHT_BORDER_COLOR));
+    style.setRotation((Short) styleProperties.get(CellUtil.ROTATION));
+    style.setTopBorderColor((Short) styleProperties.get(CellUtil.TOP_BORDER_COLOR));
+    style.setWrapText((Boolean) styleProperties.get(CellUtil.WRAP_TEXT));
+  }
+
+  /**
+   * 统一属性值的类型，保证相同的样式得到相同的 key.
+   *
+   * @param name 属性名
+   * @param value 属性值
+   * @return 数字形式的边框、填充和对齐方式转为枚举，字体统一为 Integer，颜色、格式等统一为 Short
+   */
+  private static Object normalize(String name, Object value) {
+    if (!(value instanceof Number)) {
+      return value;
+    }
+    int code = ((Number) value).intValue();
+    switch (name) {
+      case CellUtil.FONT:
+        return code;
+      case CellUtil.BORDER_BOTTOM:
+      case CellUtil.BORDER_LEFT:
+      case CellUtil.BORDER_RIGHT:
+      case CellUtil.BORDER_TOP:
+        return BorderStyle.valueOf((short) code);
+      case CellUtil.FILL_PATTERN:
+        return FillPatternType.forInt(code);
+      case CellUtil.ALIGNMENT:
+        return HorizontalAlignment.forInt(code);
+      case CellUtil.VERTICAL_ALIGNMENT:
+        return VerticalAlignment.forInt(code);
+      default:
+        return ((Number) value).shortValue();
+    }
+  }
+
+  /**
+   * 一个样式和它的属性.
+   */
+  private static final class StyleEntry {
+
+    private final CellStyle style;
+    private final Map<String, Object> properties;
+    /** 属性名 - 属性值 - 修改该属性后的样式下标. */
+    private final Map<String, Map<Object, Integer>> transitions = new HashMap<>();
+
+    StyleEntry(CellStyle style, Map<String, Object> properties) {
+      this.style = style;
+      this.properties = properties;
+    }
+  }
+}
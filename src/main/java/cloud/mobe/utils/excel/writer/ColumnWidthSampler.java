@@ -0,0 +1,150 @@
+package cloud.mobe.utils.excel.writer;
+
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo.DataField;
+import java.util.Date;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * 按表头和采样的单元格显示文本估算列宽.
+ *
+ * <p>数字和日期按单元格样式的数据格式转为显示文本，文本按最长的一行计算.
+ * 中日韩等全角字符按两个字符宽度计算，其余字符按一个字符宽度计算，每列另加两个字符的边距
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:55
+ */
+final class ColumnWidthSampler {
+
+  /** 边距，按字符数计算. */
+  private static final int PADDING = 2;
+  /** excel 允许的最大列宽，按字符数计算. */
+  private static final int EXCEL_MAX_WIDTH = 255;
+
+  private final DataFormatter dataFormatter = new DataFormatter();
+  private final DataField[] fields;
+  private final CellStyle[] styles;
+  private final int sampleSize;
+  private final int maxWidth;
+  /** 每列的最大显示宽度，按字符数计算. */
+  private final int[] widths;
+  private int sampledRows;
+
+  /**
+   * 创建采样器，初始宽度为表头的宽度.
+   *
+   * @param fields 数据字段
+   * @param styles 数据列的样式，按 fields 顺序排列
+   * @param sampleSize 采样的行数
+   * @param maxWidth 最大列宽，按字符数计算
+   */
+  ColumnWidthSampler(DataField[] fields, CellStyle[] styles, int sampleSize, int maxWidth) {
+    this.fields = fields;
+    this.styles = styles;
+    this.sampleSize = sampleSize;
+    this.maxWidth = Math.min(maxWidth, EXCEL_MAX_WIDTH - PADDING);
+    this.widths = new int[fields.length];
+    for (int i = 0; i < fields.length; i++) {
+      this.widths[i] = displayWidth(fields[i].getName());
+    }
+  }
+
+  /**
+   * 是否还需要采样.
+   *
+   * @return 已采样的行数小于采样行数时返回true
+   */
+  boolean isSampling() {
+    return this.sampledRows < this.sampleSize;
+  }
+
+  /**
+   * 采样一行的单元格值.
+   *
+   * @param values 按 fields 顺序排列的单元格值，见 {@link ExcelSheetWriter#setCellValue}
+   */
+  void sample(Object[] values) {
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null && this.widths[i] < this.maxWidth) {
+        this.widths[i] = Math.max(
+            this.widths[i],
+            displayWidth(this.format(i, values[i])));
+      }
+    }
+    this.sampledRows++;
+  }
+
+  /**
+   * 设置列宽.
+   *
+   * @param sheet sheet
+   */
+  void apply(Sheet sheet) {
+    for (int i = 0; i < this.fields.length; i++) {
+      int width = Math.min(this.widths[i], this.maxWidth) + PADDING;
+      sheet.setColumnWidth(
+          this.fields[i].getIndex(),
+          width * 256);
+    }
+  }
+
+  private String format(int column, Object value) {
+    if (value instanceof Number || value instanceof Date) {
+      double number = (value instanceof Date)
+                      ? DateUtil.getExcelDate((Date) value)
+                      : ((Number) value).doubleValue();
+      CellStyle style = this.styles[column];
+      return this.dataFormatter.formatRawCellContents(
+          number,
+          style.getDataFormat(),
+          style.getDataFormatString());
+    } else if (value instanceof Boolean) {
+      return ((Boolean) value) ? "TRUE" : "FALSE";
+    }
+    return value.toString();
+  }
+
+  /**
+   * 文本的显示宽度，多行文本取最宽的一行.
+   *
+   * @param text 文本
+   * @return 宽度，按字符数计算
+   */
+  static int displayWidth(String text) {
+    if (text == null) {
+      return 0;
+    }
+    int max = 0;
+    int width = 0;
+    for (int i = 0; i < text.length(); ) {
+      int codePoint = text.codePointAt(i);
+      i += Character.charCount(codePoint);
+      if (codePoint == '\n') {
+        max = Math.max(max, width);
+        width = 0;
+      } else if (codePoint != '\r') {
+        width += isWide(codePoint) ? 2 : 1;
+      }
+    }
+    return Math.max(max, width);
+  }
+
+  /**
+   * 是否为全角字符：中日韩文字、符号、谚文和全角标点.
+   *
+   * @param codePoint 字符
+   * @return 是否为全角字符
+   */
+  private static boolean isWide(int codePoint) {
+    return (codePoint >= 0x1100 && codePoint <= 0x115F)
+        || (codePoint >= 0x2E80 && codePoint <= 0xA4CF && codePoint != 0x303F)
+        || (codePoint >= 0xAC00 && codePoint <= 0xD7A3)
+        || (codePoint >= 0xF900 && codePoint <= 0xFAFF)
+        || (codePoint >= 0xFE30 && codePoint <= 0xFE4F)
+        || (codePoint >= 0xFF00 && codePoint <= 0xFF60)
+        || (codePoint >= 0xFFE0 && codePoint <= 0xFFE6)
+        || (codePoint >= 0x20000 && codePoint <= 0x3FFFD);
+  }
+}
@@ -0,0 +1,239 @@
+package cloud.mobe.utils.excel.writer;
+
+import static cloud.mobe.utils.datetime.DateTimeFormat.LONG_LINE;
+import static cloud.mobe.utils.datetime.DateTimeFormat.SHORT_LINE;
+import static cn.hutool.core.collection.CollUtil.isEmpty;
+import static cn.hutool.core.collection.CollUtil.isNotEmpty;
+
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo;
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo.DataField;
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo.HeaderField;
+import cloud.mobe.utils.exception.MobeServiceException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+/**
+ * 按 {@link ExcelStructureInfo} 写入 csv.
+ *
+ * <p>和 {@link ExcelSheetWriter} 使用相同的表头和列序号，多级表头写入对应的行，合并单元格只写第一个单元格.
+ * 日期按 {@code yyyy-MM-dd HH:mm:ss} 写入，数字按 excel 显示的文本写入，导出的文件可以再按同一个实体类导入
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 20:30
+ */
+public class CsvSheetWriter {
+
+  /** 编码前的字符缓冲区大小. */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final ExcelStructureInfo structureInfo;
+  /** 数据开始的行号，数据表头在其上一行. */
+  private final int headerIndex;
+  /** 按列序号排列的数据字段，空列为null. */
+  private final DataField[] columns;
+
+  public CsvSheetWriter(ExcelStructureInfo structureInfo, int headerIndex) {
+    this.structureInfo = structureInfo;
+    this.headerIndex = headerIndex;
+    List<DataField> dataFields = structureInfo.getDataFields();
+    int columnCount = isNotEmpty(dataFields)
+                      ? dataFields.stream()
+                                  .mapToInt(DataField::getIndex)
+                                  .max()
+                                  .getAsInt() + 1
+                      : 0;
+    this.columns = new DataField[columnCount];
+    if (isNotEmpty(dataFields)) {
+      for (DataField dataField : dataFields) {
+        this.columns[dataField.getIndex()] = dataField;
+      }
+    }
+  }
+
+  /**
+   * 写入表头和数据行.
+   *
+   * <p>UTF-8 编码时先写入 BOM，excel 打开时才能识别中文. 写入后只刷新，不关闭通道
+   *
+   * @param channel 写入的通道
+   * @param charset 文件编码
+   * @param rows 数据，逐行消费
+   * @return 写入的数据行数
+   * @throws IOException 写入的异常
+   */
+  public int write(WritableByteChannel channel, Charset charset, Iterator<?> rows)
+      throws IOException {
+    Writer writer = new BufferedWriter(
+        Channels.newWriter(channel, charset.newEncoder(), -1),
+        BUFFER_SIZE);
+    if (StandardCharsets.UTF_8.equals(charset)) {
+      writer.write('\uFEFF');
+    }
+    this.writeHeader(writer);
+    int rowCount = 0;
+    while (rows.hasNext()) {
+      Object data = rows.next();
+      for (int i = 0; i < this.columns.length; i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        if (this.columns[i] != null) {
+          writeField(writer, format(readValue(data, this.columns[i])));
+        }
+      }
+      writer.write("\r\n");
+      rowCount++;
+    }
+    writer.flush();
+    return rowCount;
+  }
+
+  /**
+   * 写入多级表头和数据表头，共 headerIndex 行.
+   *
+   * @param writer writer
+   * @throws IOException 写入的异常
+   */
+  private void writeHeader(Writer writer) throws IOException {
+    String[][] header = new String[this.headerIndex][this.columns.length];
+    if (isNotEmpty(structureInfo.getHeaderFields())) {
+      List<HeaderField> headerFields = structureInfo.getHeaderFields()
+                                                    .stream()
+                                                    .sorted(Comparator.comparingInt(
+                                                        HeaderField::getIndex))
+                                                    .collect(Collectors.toList());
+      for (HeaderField headerField : headerFields) {
+        int rowIndex = headerField.getIndex();
+        if (rowIndex >= this.headerIndex - 1 || isEmpty(headerField.getColumnFields())) {
+          continue;
+        }
+        for (DataField dataField : headerField.getColumnFields()) {
+          if (dataField.getIndex() < this.columns.length) {
+            header[rowIndex][dataField.getIndex()] = dataField.getName();
+          }
+        }
+      }
+    }
+    for (int i = 0; i < this.columns.length; i++) {
+      if (this.columns[i] != null) {
+        header[this.headerIndex - 1][i] = this.columns[i].getName();
+      }
+    }
+    for (String[] row : header) {
+      for (int i = 0; i < row.length; i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        writeField(writer, row[i]);
+      }
+      writer.write("\r\n");
+    }
+  }
+
+  /**
+   * 写入一个字段，包含逗号、引号、换行或首尾空格时加引号，引号转义为两个引号.
+   *
+   * @param writer writer
+   * @param text 字段文本，为null时写入空字段
+   * @throws IOException 写入的异常
+   */
+  static void writeField(Writer writer, String text) throws IOException {
+    if (text == null || text.isEmpty()) {
+      return;
+    }
+    if (!needsQuote(text)) {
+      writer.write(text);
+      return;
+    }
+    writer.write('"');
+    int start = 0;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == '"') {
+        writer.write(text, start, i + 1 - start);
+        writer.write('"');
+        start = i + 1;
+      }
+    }
+    writer.write(text, start, text.length() - start);
+    writer.write('"');
+  }
+
+  private static boolean needsQuote(String text) {
+    if (text.charAt(0) == ' ' || text.charAt(text.length() - 1) == ' ') {
+      return true;
+    }
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 按值的类型转为文本.
+   *
+   * @param value 值
+   * @return 文本，null返回null
+   */
+  static String format(Object value) {
+    if (value == null) {
+      return null;
+    }
+    if (value instanceof String) {
+      return (String) value;
+    } else if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).toPlainString();
+    } else if (value instanceof Double) {
+      return NumberToTextConverter.toText((Double) value);
+    } else if (value instanceof Float && Float.isFinite((Float) value)) {
+      return new BigDecimal(value.toString()).toPlainString();
+    } else if (value instanceof Date) {
+      return LONG_LINE.getFormatter()
+                      .format(((Date) value).toInstant()
+                                            .atZone(ZoneId.systemDefault()));
+    } else if (value instanceof LocalDateTime) {
+      return LONG_LINE.getFormatter()
+                      .format((LocalDateTime) value);
+    } else if (value instanceof LocalDate) {
+      return SHORT_LINE.getFormatter()
+                       .format((LocalDate) value);
+    }
+    return value.toString();
+  }
+
+  /**
+   * 读取实体字段的值.
+   *
+   * @param data 实体
+   * @param dataField 字段信息
+   * @return 字段值
+   */
+  private static Object readValue(Object data, DataField dataField) {
+    try {
+      return dataField.getReadMethod()
+                      .invoke(data);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new MobeServiceException(
+          "读取字段失败：" + dataField.getName(),
+          e);
+    }
+  }
+}
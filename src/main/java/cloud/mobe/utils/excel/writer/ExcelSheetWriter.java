@@ -0,0 +1,487 @@
+package cloud.mobe.utils.excel.writer;
+
+import static cn.hutool.core.collection.CollUtil.isEmpty;
+import static cn.hutool.core.collection.CollUtil.isNotEmpty;
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo;
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo.DataField;
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo.HeaderField;
+import cloud.mobe.utils.exception.MobeServiceException;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellUtil;
+
+/**
+ * 按 {@link ExcelStructureInfo} 写入sheet页.
+ *
+ * <p>只按行号顺序追加行，可用于 SXSSF 的滑动窗口写入
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 13:20
+ */
+public class ExcelSheetWriter {
+
+  /** excel 数字的有效数字位数. */
+  private static final int EXCEL_PRECISION_DIGITS = 15;
+  /** 绝对值小于该值的整数不超过15位有效数字. */
+  private static final long EXCEL_PRECISION_LIMIT = 1_000_000_000_000_000L;
+
+  private final ExcelStructureInfo structureInfo;
+  /** 数据开始的行号，数据表头在其上一行. */
+  private final int headerIndex;
+  private final CellStyleRegistry styleRegistry;
+  /** 估算列宽的采样行数，为0时使用字段定义的列宽. */
+  private int columnWidthSampleSize;
+  /** 估算的最大列宽，按字符数计算. */
+  private int maxColumnWidth;
+
+  public ExcelSheetWriter(
+      ExcelStructureInfo structureInfo, int headerIndex, CellStyleRegistry styleRegistry) {
+    this.structureInfo = structureInfo;
+    this.headerIndex = headerIndex;
+    this.styleRegistry = styleRegistry;
+  }
+
+  /**
+   * 写入表头和列宽.
+   *
+   * <p>表头单元格、合并区域和边框先在 {@link HeaderGrid} 中计算，再一次性写入sheet页
+   *
+   * @param sheet sheet
+   */
+  public void writeHeader(Sheet sheet) {
+    Workbook workbook = sheet.getWorkbook();
+    HeaderGrid grid = new HeaderGrid(
+        BorderStyle.THIN,
+        IndexedColors.BLACK.getIndex());
+    if (isNotEmpty(structureInfo.getHeaderFields())) {
+      List<HeaderField> headerFields = structureInfo.getHeaderFields()
+                                                    .stream()
+                                                    .sorted(Comparator.comparingInt(
+                                                        HeaderField::getIndex))
+                                                    .collect(Collectors.toList());
+      for (HeaderField headerField : headerFields) {
+        if (isNotEmpty(headerField.getColumnFields())) {
+          for (DataField dataField : headerField.getColumnFields()) {
+            putHeaderCell(grid, workbook, headerField.getIndex(), dataField);
+          }
+        }
+      }
+    }
+
+    if (isNotEmpty(structureInfo.getDataFields())) {
+      for (DataField dataField : structureInfo.getDataFields()) {
+        sheet.setColumnWidth(
+            dataField.getIndex(),
+            dataField.getWidth() * 256);
+        grid.put(
+            headerIndex - 1,
+            dataField.getIndex(),
+            dataField.getName(),
+            headerStyle(workbook, dataField));
+      }
+    }
+    grid.render(
+        sheet,
+        styleRegistry);
+  }
+
+  /**
+   * 按表头和开头若干行的显示文本估算列宽，写入数据行后设置，覆盖字段定义的列宽.
+   *
+   * @param sampleSize 采样的行数
+   * @param maxWidth 最大列宽，按字符数计算
+   * @see ColumnWidthSampler
+   */
+  public void sampleColumnWidths(int sampleSize, int maxWidth) {
+    this.columnWidthSampleSize = sampleSize;
+    this.maxColumnWidth = maxWidth;
+  }
+
+  /**
+   * 写入数据行.
+   *
+   * @param sheet sheet
+   * @param rows 数据
+   * @return 写入的行数
+   */
+  public int writeRows(Sheet sheet, Iterator<?> rows) {
+    List<DataField> dataFields = structureInfo.getDataFields();
+    if (isEmpty(dataFields)) {
+      return 0;
+    }
+    CellStyle[] dataCellStyles = dataCellStyles(sheet.getWorkbook(), dataFields);
+    ColumnWidthSampler widthSampler = this.widthSampler(dataFields, dataCellStyles);
+
+    int rowNum = headerIndex;
+    while (rows.hasNext()) {
+      Object data = rows.next();
+      Row row = sheet.createRow(rowNum++);
+      Object[] sampledValues = (widthSampler != null && widthSampler.isSampling())
+                               ? new Object[dataCellStyles.length]
+                               : null;
+      for (int i = 0; i < dataCellStyles.length; i++) {
+        DataField dataField = dataFields.get(i);
+        Cell cell = row.createCell(dataField.getIndex());
+        Object value = readValue(data, dataField);
+        setCellValue(cell, value);
+        cell.setCellStyle(dataCellStyles[i]);
+        if (sampledValues != null) {
+          sampledValues[i] = toCellValue(value);
+        }
+      }
+      if (sampledValues != null) {
+        widthSampler.sample(sampledValues);
+      }
+    }
+    if (widthSampler != null) {
+      widthSampler.apply(sheet);
+    }
+    return rowNum - headerIndex;
+  }
+
+  /**
+   * 并行生成行数据，按顺序写入.
+   *
+   * <p>调用线程按块读取 rows 并提交到 executor，任务调用 get 方法并把字段值转换为单元格值数组；
+   * 调用线程同时是唯一的写入线程，按提交顺序写入sheet，结果与单线程写入相同.
+   * 同时处理的块不超过 parallelism 的两倍，内存中只保留这些块的数据. 实体的 get 方法需要能在其他线程中调用
+   *
+   * @param sheet sheet
+   * @param rows 数据，只在调用线程中读取
+   * @param parallelism 并行任务数，不大于1时单线程写入
+   * @param chunkSize 每块的行数
+   * @param executor 生成行数据的线程池
+   * @return 写入的行数
+   */
+  public int writeRows(
+      Sheet sheet, Iterator<?> rows, int parallelism, int chunkSize, Executor executor) {
+    if (parallelism <= 1) {
+      return this.writeRows(sheet, rows);
+    }
+    List<DataField> dataFields = structureInfo.getDataFields();
+    if (isEmpty(dataFields)) {
+      return 0;
+    }
+    CellStyle[] dataCellStyles = dataCellStyles(sheet.getWorkbook(), dataFields);
+    DataField[] fields = dataFields.toArray(new DataField[0]);
+    ColumnWidthSampler widthSampler = this.widthSampler(dataFields, dataCellStyles);
+
+    int maxPending = parallelism * 2;
+    Deque<CompletableFuture<Object[][]>> pending = new ArrayDeque<>(maxPending);
+    int rowNum = headerIndex;
+    try {
+      while (rows.hasNext()) {
+        Object[] chunk = nextChunk(rows, Math.max(chunkSize, 1));
+        pending.addLast(CompletableFuture.supplyAsync(
+            () -> renderChunk(chunk, fields),
+            executor));
+        if (pending.size() >= maxPending) {
+          rowNum = writeChunk(sheet, rowNum, pending.removeFirst()
+                                                    .join(), fields, dataCellStyles,
+              widthSampler);
+        }
+      }
+      while (!pending.isEmpty()) {
+        rowNum = writeChunk(sheet, rowNum, pending.removeFirst()
+                                                  .join(), fields, dataCellStyles,
+            widthSampler);
+      }
+    } catch (RuntimeException e) {
+      pending.forEach(future -> future.cancel(false));
+      if (!(e instanceof CompletionException)) {
+        throw e;
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new MobeServiceException(
+          "生成导出数据失败",
+          e.getCause());
+    }
+    if (widthSampler != null) {
+      widthSampler.apply(sheet);
+    }
+    return rowNum - headerIndex;
+  }
+
+  private ColumnWidthSampler widthSampler(List<DataField> dataFields, CellStyle[] styles) {
+    if (this.columnWidthSampleSize <= 0) {
+      return null;
+    }
+    return new ColumnWidthSampler(
+        dataFields.toArray(new DataField[0]),
+        styles,
+        this.columnWidthSampleSize,
+        this.maxColumnWidth);
+  }
+
+  /**
+   * 数据列的样式，按 dataFields 顺序排列.
+   *
+   * @param workbook workbook
+   * @param dataFields 数据字段
+   * @return 样式
+   */
+  private CellStyle[] dataCellStyles(Workbook workbook, List<DataField> dataFields) {
+    DataFormat dataFormat = workbook.createDataFormat();
+    CellStyle[] dataCellStyles = new CellStyle[dataFields.size()];
+    for (int i = 0; i < dataFields.size(); i++) {
+      DataField dataField = dataFields.get(i);
+      Map<String, Object> dataCellStyle = dataField.getDataCellStyle();
+      if (dataField.getDataFormat() != null) {
+        dataCellStyle = newHashMapWithExpectedSize(20);
+        dataCellStyle.putAll(dataField.getDataCellStyle());
+        dataCellStyle.put(
+            CellUtil.DATA_FORMAT,
+            dataFormat.getFormat(dataField.getDataFormat()));
+      }
+      dataCellStyles[i] = styleRegistry.getCellStyle(dataCellStyle);
+    }
+    return dataCellStyles;
+  }
+
+  private static Object[] nextChunk(Iterator<?> rows, int chunkSize) {
+    Object[] chunk = new Object[chunkSize];
+    int size = 0;
+    while (size < chunkSize && rows.hasNext()) {
+      chunk[size++] = rows.next();
+    }
+    return (size == chunkSize) ? chunk : Arrays.copyOf(chunk, size);
+  }
+
+  /**
+   * 生成一块数据的单元格值，在线程池中执行.
+   *
+   * @param chunk 实体
+   * @param fields 数据字段
+   * @return 每行按 fields 顺序排列的单元格值
+   */
+  private static Object[][] renderChunk(Object[] chunk, DataField[] fields) {
+    Object[][] values = new Object[chunk.length][];
+    for (int i = 0; i < chunk.length; i++) {
+      Object[] rowValues = new Object[fields.length];
+      for (int j = 0; j < fields.length; j++) {
+        rowValues[j] = toCellValue(readValue(chunk[i], fields[j]));
+      }
+      values[i] = rowValues;
+    }
+    return values;
+  }
+
+  private static int writeChunk(
+      Sheet sheet, int rowNum, Object[][] values, DataField[] fields, CellStyle[] styles,
+      ColumnWidthSampler widthSampler) {
+    for (Object[] rowValues : values) {
+      if (widthSampler != null && widthSampler.isSampling()) {
+        widthSampler.sample(rowValues);
+      }
+      Row row = sheet.createRow(rowNum++);
+      for (int i = 0; i < fields.length; i++) {
+        Cell cell = row.createCell(fields[i].getIndex());
+        setCellValue(cell, rowValues[i]);
+        cell.setCellStyle(styles[i]);
+      }
+    }
+    return rowNum;
+  }
+
+  /**
+   * 加入多级表头的单元格，跨行跨列的单元格合并后设置边框.
+   *
+   * @param grid 表头布局
+   * @param workbook workbook
+   * @param rowIndex 表头所在行
+   * @param dataField 表头单元格
+   */
+  private void putHeaderCell(HeaderGrid grid, Workbook workbook, int rowIndex,
+      DataField dataField) {
+    int columnIndex = dataField.getIndex();
+    grid.put(
+        rowIndex,
+        columnIndex,
+        dataField.getName(),
+        headerStyle(workbook, dataField));
+
+    int lastRow = rowIndex + Math.max(dataField.getRowspan(), 1) - 1;
+    int lastColumn = columnIndex + Math.max(dataField.getColspan(), 1) - 1;
+    if (lastRow > rowIndex || lastColumn > columnIndex) {
+      grid.merge(new CellRangeAddress(
+          rowIndex,
+          lastRow,
+          columnIndex,
+          lastColumn));
+    }
+  }
+
+  /**
+   * 表头样式，加入字体颜色.
+   *
+   * @param workbook workbook
+   * @param dataField 字段信息
+   * @return 样式
+   */
+  private Map<String, Object> headerStyle(Workbook workbook, DataField dataField) {
+    Map<String, Object> headerCellStyle = dataField.getHeaderCellStyle();
+    if (dataField.getFontColor() == null) {
+      return headerCellStyle;
+    }
+    Font defaultFont = workbook.getFontAt(0);
+    short color = dataField.getFontColor()
+                           .getIndex();
+    Font font = workbook.findFont(
+        false,
+        color,
+        defaultFont.getFontHeight(),
+        defaultFont.getFontName(),
+        false,
+        false,
+        Font.SS_NONE,
+        Font.U_NONE);
+    if (font == null) {
+      font = workbook.createFont();
+      font.setColor(color);
+      font.setFontHeight(defaultFont.getFontHeight());
+      font.setFontName(defaultFont.getFontName());
+    }
+    Map<String, Object> style = newHashMapWithExpectedSize(20);
+    style.putAll(headerCellStyle);
+    style.put(
+        CellUtil.FONT,
+        font.getIndexAsInt());
+    return style;
+  }
+
+  /**
+   * 读取实体字段的值.
+   *
+   * @param data 实体
+   * @param dataField 字段信息
+   * @return 字段值
+   */
+  private static Object readValue(Object data, DataField dataField) {
+    try {
+      return dataField.getReadMethod()
+                      .invoke(data);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new MobeServiceException(
+          "读取字段失败：" + dataField.getName(),
+          e);
+    }
+  }
+
+  /**
+   * 转换为单元格能直接写入的值：数字、布尔值、{@link Date} 或字符串.
+   *
+   * @param value 字段值
+   * @return 单元格值，double 不能精确表示的数字转为文本
+   */
+  private static Object toCellValue(Object value) {
+    if (value == null || value instanceof Double || value instanceof Boolean
+        || value instanceof Date || value instanceof String) {
+      return value;
+    } else if (value instanceof Number) {
+      return isExactDouble((Number) value)
+             ? (Object) ((Number) value).doubleValue()
+             : numberText((Number) value);
+    } else if (value instanceof LocalDateTime) {
+      return Date.from(((LocalDateTime) value).atZone(ZoneId.systemDefault())
+                                              .toInstant());
+    } else if (value instanceof LocalDate) {
+      return Date.from(((LocalDate) value).atStartOfDay(ZoneId.systemDefault())
+                                          .toInstant());
+    }
+    return value.toString();
+  }
+
+  /**
+   * 按值的类型写入单元格.
+   *
+   * @param cell 单元格
+   * @param value 值
+   */
+  static void setCellValue(Cell cell, Object value) {
+    if (value == null) {
+      return;
+    }
+    if (value instanceof Number) {
+      if (isExactDouble((Number) value)) {
+        cell.setCellValue(((Number) value).doubleValue());
+      } else {
+        cell.setCellValue(numberText((Number) value));
+      }
+    } else if (value instanceof Boolean) {
+      cell.setCellValue((Boolean) value);
+    } else if (value instanceof Date) {
+      cell.setCellValue((Date) value);
+    } else if (value instanceof LocalDateTime) {
+      cell.setCellValue(Date.from(((LocalDateTime) value).atZone(ZoneId.systemDefault())
+                                                          .toInstant()));
+    } else if (value instanceof LocalDate) {
+      cell.setCellValue(Date.from(((LocalDate) value).atStartOfDay(ZoneId.systemDefault())
+                                                      .toInstant()));
+    } else {
+      cell.setCellValue(value.toString());
+    }
+  }
+
+  /**
+   * 数字能否不丢失精度地写为 excel 的数字.
+   *
+   * <p>excel 的数字是 double，只保留15位有效数字. 有效数字超过15位的 {@link Long}、{@link BigInteger}
+   * 和 {@link BigDecimal} 写为文本，避免导出后被舍入，例如16位的编号
+   *
+   * @param value 数字
+   * @return 能精确写入时返回true
+   */
+  private static boolean isExactDouble(Number value) {
+    if (value instanceof Long) {
+      long longValue = value.longValue();
+      return (longValue > -EXCEL_PRECISION_LIMIT && longValue < EXCEL_PRECISION_LIMIT)
+             || isExcelPrecision(BigDecimal.valueOf(longValue));
+    } else if (value instanceof BigInteger) {
+      return isExcelPrecision(new BigDecimal((BigInteger) value));
+    } else if (value instanceof BigDecimal) {
+      return isExcelPrecision((BigDecimal) value);
+    }
+    return true;
+  }
+
+  private static boolean isExcelPrecision(BigDecimal value) {
+    return value.stripTrailingZeros()
+                .precision() <= EXCEL_PRECISION_DIGITS;
+  }
+
+  private static String numberText(Number value) {
+    return (value instanceof BigDecimal)
+           ? ((BigDecimal) value).toPlainString()
+           : value.toString();
+  }
+}
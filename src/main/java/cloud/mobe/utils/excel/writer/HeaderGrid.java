@@ -0,0 +1,156 @@
+package cloud.mobe.utils.excel.writer;
+
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+import cloud.mobe.utils.exception.MobeServiceException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellUtil;
+
+/**
+ * 表头的单元格、样式和合并区域布局.
+ *
+ * <p>先在内存中计算全部表头单元格的值、样式属性和合并区域的边框，最后每个单元格只创建一次、只查找一次样式，
+ * 合并区域在这里检查重叠后通过 {@link Sheet#addMergedRegionUnsafe(CellRangeAddress)} 添加，
+ * 不再每添加一个区域都和已有区域逐个比较. 操作的先后顺序与逐个写入单元格时相同，后写入的样式覆盖之前的样式
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 21:40
+ */
+final class HeaderGrid {
+
+  /** 按行、列排序的单元格. */
+  private final TreeMap<Long, GridCell> cells = new TreeMap<>();
+  private final List<CellRangeAddress> mergedRegions = new ArrayList<>();
+  /** 已合并的单元格位置. */
+  private final Set<Long> mergedCells = new HashSet<>();
+  /** 合并区域四边的边框属性. */
+  private final Map<String, Object> leftBorder;
+  private final Map<String, Object> rightBorder;
+  private final Map<String, Object> topBorder;
+  private final Map<String, Object> bottomBorder;
+
+  /**
+   * 创建布局.
+   *
+   * @param borderStyle 合并区域的边框样式
+   * @param borderColor 合并区域的边框颜色
+   */
+  HeaderGrid(BorderStyle borderStyle, short borderColor) {
+    this.leftBorder = border(CellUtil.BORDER_LEFT, CellUtil.LEFT_BORDER_COLOR,
+        borderStyle, borderColor);
+    this.rightBorder = border(CellUtil.BORDER_RIGHT, CellUtil.RIGHT_BORDER_COLOR,
+        borderStyle, borderColor);
+    this.topBorder = border(CellUtil.BORDER_TOP, CellUtil.TOP_BORDER_COLOR,
+        borderStyle, borderColor);
+    this.bottomBorder = border(CellUtil.BORDER_BOTTOM, CellUtil.BOTTOM_BORDER_COLOR,
+        borderStyle, borderColor);
+  }
+
+  /**
+   * 设置单元格的值和样式，覆盖之前的样式.
+   *
+   * @param rowIndex 行号
+   * @param columnIndex 列号
+   * @param value 值
+   * @param styleProperties 样式属性
+   */
+  void put(int rowIndex, int columnIndex, String value, Map<String, Object> styleProperties) {
+    GridCell cell = this.cell(rowIndex, columnIndex);
+    cell.value = value;
+    cell.styleProperties = new HashMap<>(styleProperties);
+  }
+
+  /**
+   * 合并区域并设置外边框.
+   *
+   * @param address 合并区域
+   */
+  void merge(CellRangeAddress address) {
+    for (int i = address.getFirstRow(); i <= address.getLastRow(); i++) {
+      for (int j = address.getFirstColumn(); j <= address.getLastColumn(); j++) {
+        if (!this.mergedCells.add(key(i, j))) {
+          throw new MobeServiceException("表头合并区域重叠：" + address.formatAsString());
+        }
+      }
+    }
+    this.mergedRegions.add(address);
+
+    for (int i = address.getFirstRow(); i <= address.getLastRow(); i++) {
+      this.cell(i, address.getFirstColumn()).styleProperties.putAll(this.leftBorder);
+      this.cell(i, address.getLastColumn()).styleProperties.putAll(this.rightBorder);
+    }
+    for (int i = address.getFirstColumn(); i <= address.getLastColumn(); i++) {
+      this.cell(address.getFirstRow(), i).styleProperties.putAll(this.topBorder);
+      this.cell(address.getLastRow(), i).styleProperties.putAll(this.bottomBorder);
+    }
+  }
+
+  /**
+   * 按行顺序创建单元格并添加合并区域.
+   *
+   * @param sheet sheet
+   * @param styleRegistry workbook 的样式缓存
+   */
+  void render(Sheet sheet, CellStyleRegistry styleRegistry) {
+    Map<Map<String, Object>, CellStyle> styles = new HashMap<>();
+    for (Map.Entry<Long, GridCell> entry : this.cells.entrySet()) {
+      int rowIndex = (int) (entry.getKey() >>> 32);
+      int columnIndex = entry.getKey()
+                             .intValue();
+      GridCell gridCell = entry.getValue();
+      Row row = CellUtil.getRow(
+          rowIndex,
+          sheet);
+      Cell cell = CellUtil.getCell(
+          row,
+          columnIndex);
+      if (gridCell.value != null) {
+        cell.setCellValue(gridCell.value);
+      }
+      cell.setCellStyle(styles.computeIfAbsent(
+          gridCell.styleProperties,
+          styleRegistry::getCellStyle));
+    }
+    for (CellRangeAddress address : this.mergedRegions) {
+      sheet.addMergedRegionUnsafe(address);
+    }
+  }
+
+  private GridCell cell(int rowIndex, int columnIndex) {
+    return this.cells.computeIfAbsent(
+        key(rowIndex, columnIndex),
+        key -> new GridCell());
+  }
+
+  private static long key(int rowIndex, int columnIndex) {
+    return ((long) rowIndex << 32) | columnIndex;
+  }
+
+  private static Map<String, Object> border(
+      String borderName, String colorName, BorderStyle borderStyle, short color) {
+    Map<String, Object> border = newHashMapWithExpectedSize(2);
+    border.put(borderName, borderStyle);
+    border.put(colorName, color);
+    return border;
+  }
+
+  /**
+   * 表头单元格，未设置样式的单元格使用默认样式.
+   */
+  private static final class GridCell {
+    private String value;
+    private Map<String, Object> styleProperties = new HashMap<>();
+  }
+}
@@ -0,0 +1,25 @@
+package cloud.mobe.utils.exception;
+
+/**
+ * 错误码.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 20:20
+ * @see MobeErrorCodeException
+ */
+public interface ErrorCode {
+
+  /**
+   * 错误码.
+   *
+   * @return 错误码
+   */
+  String getCode();
+
+  /**
+   * 异常信息模板，参数使用 {@link String#format(String, Object...)} 的格式.
+   *
+   * @return 信息模板
+   */
+  String getMessagePattern();
+}
@@ -0,0 +1,98 @@
+package cloud.mobe.utils.exception;
+
+/**
+ * 带错误码的轻量统一异常.
+ *
+ * <p>不记录调用栈，异常信息在第一次读取时才按模板生成，用于数据校验等大量、可预期的失败，
+ * 创建的开销接近普通对象. 不带参数的异常可以预先创建后重复抛出.
+ * 配置错误等需要定位调用位置的异常使用 {@link #withStackTrace(ErrorCode, Object...)} 创建.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 20:20
+ */
+public class MobeErrorCodeException extends MobeServiceException {
+
+  private static final Object[] NO_ARGS = new Object[0];
+
+  private final ErrorCode errorCode;
+  private final Object[] args;
+  private volatile String message;
+
+  /**
+   * 创建异常.
+   *
+   * @param errorCode 错误码
+   * @param args 信息模板的参数
+   */
+  public MobeErrorCodeException(ErrorCode errorCode, Object... args) {
+    this(errorCode, null, args);
+  }
+
+  /**
+   * 创建异常.
+   *
+   * @param errorCode 错误码
+   * @param cause 原因
+   * @param args 信息模板的参数
+   */
+  public MobeErrorCodeException(ErrorCode errorCode, Throwable cause, Object... args) {
+    this(errorCode, cause, args, false);
+  }
+
+  private MobeErrorCodeException(
+      ErrorCode errorCode, Throwable cause, Object[] args, boolean writableStackTrace) {
+    super(null, cause, writableStackTrace);
+    this.errorCode = errorCode;
+    this.args = (args == null) ? NO_ARGS : args;
+  }
+
+  /**
+   * 创建记录调用栈的异常，用于配置错误等不可预期、需要定位调用位置的失败.
+   *
+   * @param errorCode 错误码
+   * @param args 信息模板的参数
+   * @return 异常
+   */
+  public static MobeErrorCodeException withStackTrace(ErrorCode errorCode, Object... args) {
+    return new MobeErrorCodeException(errorCode, null, args, true);
+  }
+
+  /**
+   * 错误码.
+   *
+   * @return 错误码
+   */
+  public String getCode() {
+    return errorCode.getCode();
+  }
+
+  /**
+   * 错误码定义.
+   *
+   * @return 错误码定义
+   */
+  public ErrorCode getErrorCode() {
+    return errorCode;
+  }
+
+  /**
+   * 信息模板的参数.
+   *
+   * @return 参数的副本
+   */
+  public Object[] getArgs() {
+    return args.clone();
+  }
+
+  @Override
+  public String getMessage() {
+    String result = this.message;
+    if (result == null) {
+      result = (args.length == 0)
+               ? errorCode.getMessagePattern()
+               : String.format(errorCode.getMessagePattern(), args);
+      this.message = result;
+    }
+    return result;
+  }
+}
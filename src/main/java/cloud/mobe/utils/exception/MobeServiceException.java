@@ -14,4 +14,16 @@ public class MobeServiceException extends RuntimeException {
   public MobeServiceException(String msg, Throwable cause) {
     super(msg, cause);
   }
+
+  /**
+   * 供不记录调用栈的子类使用.
+   *
+   * @param msg 异常信息，子类延迟生成时为null
+   * @param cause 原因
+   * @param writableStackTrace 是否记录调用栈
+   * @see MobeErrorCodeException
+   */
+  protected MobeServiceException(String msg, Throwable cause, boolean writableStackTrace) {
+    super(msg, cause, false, writableStackTrace);
+  }
 }
@@ -1,11 +1,94 @@
 package cloud.mobe.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import cloud.mobe.utils.entity.excel.ExcelEntity;
+import cloud.mobe.utils.entity.excel.ExcelGroupHeaderEntity;
+import cloud.mobe.utils.entity.excel.ExcelHeaderIndexEntity;
+import cloud.mobe.utils.entity.excel.ExcelStatusEntity;
+import cloud.mobe.utils.entity.excel.ExcelUnsupportedEntity;
 import cloud.mobe.utils.entity.json.JsonEntity;
+import cloud.mobe.utils.exception.MobeErrorCodeException;
+import cloud.mobe.utils.exception.MobeServiceException;
+import cloud.mobe.utils.excel.CloseableIterator;
+import cloud.mobe.utils.excel.ColumnWidthStrategy;
+import cloud.mobe.utils.excel.ExcelDefinitionMetadata;
+import cloud.mobe.utils.excel.ExcelDetail;
+import cloud.mobe.utils.excel.ExcelErrorCode;
+import cloud.mobe.utils.excel.ExcelExportOptions;
+import cloud.mobe.utils.excel.ExcelFileFormat;
+import cloud.mobe.utils.excel.ExcelImportExecutor;
+import cloud.mobe.utils.excel.ExcelImportJob;
+import cloud.mobe.utils.excel.ExcelImportMetrics;
+import cloud.mobe.utils.excel.ExcelImportMetricsListener;
+import cloud.mobe.utils.excel.ExcelImportOptions;
+import cloud.mobe.utils.excel.ExcelImportOptions.FormulaMode;
+import cloud.mobe.utils.excel.ExcelUtil;
+import cloud.mobe.utils.excel.binder.RowBinder;
+import cloud.mobe.utils.excel.checkpoint.FileImportCheckpointStore;
+import cloud.mobe.utils.excel.convert.CellValueConverter;
+import cloud.mobe.utils.excel.convert.CellValueConverters;
+import cloud.mobe.utils.excel.convert.InvalidCellValueException;
+import cloud.mobe.utils.excel.dto.ExcelStructureInfo;
+import cloud.mobe.utils.excel.dto.ImportErrorReport;
+import cloud.mobe.utils.excel.reader.DateFormatCache;
+import cloud.mobe.utils.excel.reader.DiskSharedStringsTable;
+import cloud.mobe.utils.excel.writer.CellStyleRegistry;
 import cloud.mobe.utils.json.JsonUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * ExcelUtil 单元测试.
@@ -15,6 +98,9 @@ import org.junit.jupiter.api.Test;
  */
 class ExcelUtilTests {
 
+  @TempDir
+  File tempDir;
+
   @Test
   void testParseJsonString() {
     String jsonString = "{\"name\":\"Wizard\",\"city_name\":\"Qingdao\"}";
@@ -27,4 +113,1050 @@ class ExcelUtilTests {
     assertEquals("Wizard", entity2.getName());
     assertEquals("Qingdao", entity2.getCityName());
   }
+
+  @Test
+  void testStreamingXlsxMatchesWorkbook() throws Exception {
+    List<ExcelEntity> rows = rows(300);
+    File xlsx = writeWorkbook(new XSSFWorkbook(), rows, "test.xlsx");
+
+    try (ExcelDetail<ExcelEntity> workbookDetail = ExcelUtil.build(
+        new FileMultipartFile(xlsx),
+        ExcelEntity.class);
+        ExcelDetail<ExcelEntity> streamingDetail = ExcelUtil.buildStreaming(
+            new FileMultipartFile(xlsx),
+            ExcelEntity.class)) {
+      assertEquals(rows, workbookDetail.getData(0, false));
+      assertEquals(rows, streamingDetail.getData(0, false));
+      List<ExcelEntity> read = new ArrayList<>();
+      streamingDetail.read(0, false, read::add);
+      assertEquals(rows, read);
+    }
+  }
+
+  @Test
+  void testStreamingXlsMatchesWorkbook() throws Exception {
+    List<ExcelEntity> rows = rows(300);
+    File xls = writeWorkbook(new HSSFWorkbook(), rows, "test.xls");
+    // 公式单元格读取文件中缓存的结果
+    try (HSSFWorkbook written = new HSSFWorkbook(new FileInputStream(xls))) {
+      Sheet sheet = written.getSheetAt(0);
+      for (int i = 0; i < rows.size(); i++) {
+        ExcelEntity entity = rows.get(i);
+        Row row = sheet.getRow(i + 1);
+        row.getCell(0)
+           .setCellFormula("\"" + entity.getName() + "\"");
+        row.getCell(1)
+           .setCellFormula(entity.getCount() + "*1");
+      }
+      written.getCreationHelper()
+             .createFormulaEvaluator()
+             .evaluateAll();
+      try (OutputStream outputStream = new FileOutputStream(xls)) {
+        written.write(outputStream);
+      }
+    }
+
+    try (ExcelDetail<ExcelEntity> workbookDetail = ExcelUtil.build(
+        new FileMultipartFile(xls),
+        ExcelEntity.class);
+        ExcelDetail<ExcelEntity> streamingDetail = ExcelUtil.buildStreaming(
+            new FileMultipartFile(xls),
+            ExcelEntity.class)) {
+      assertEquals(rows, workbookDetail.getData(0, false));
+      assertEquals(rows, streamingDetail.getData(0, false));
+    }
+  }
+
+  @Test
+  void testExportKeepsPrecisionOfLargeNumbers() throws Exception {
+    List<ExcelEntity> rows = rows(3);
+    rows.get(0).setId(1234567890123456L);
+    rows.get(1).setId(123456789012345L);
+    rows.get(2).setAmount(new BigDecimal("1234567890.123456"));
+    File xlsx = exportXlsx(rows, new ExcelExportOptions());
+
+    try (Workbook workbook = new XSSFWorkbook(new FileInputStream(xlsx))) {
+      Sheet sheet = workbook.getSheetAt(0);
+      // 16位有效数字的编号写为文本，15位的仍为数字
+      assertEquals(CellType.STRING, sheet.getRow(1).getCell(3).getCellType());
+      assertEquals(CellType.NUMERIC, sheet.getRow(2).getCell(3).getCellType());
+      assertEquals(CellType.STRING, sheet.getRow(3).getCell(2).getCellType());
+      assertEquals(CellType.NUMERIC, sheet.getRow(3).getCell(1).getCellType());
+    }
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.build(xlsx, ExcelEntity.class)) {
+      assertEquals(rows, detail.getData(0, false));
+    }
+  }
+
+  @Test
+  void testCellStyleRegistryReusesStyles() throws Exception {
+    try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+      Sheet sheet = workbook.createSheet();
+      CellStyleRegistry styleRegistry = new CellStyleRegistry(workbook);
+      for (int i = 0; i < 50; i++) {
+        CellRangeAddress address = new CellRangeAddress(i * 3, i * 3 + 1, 0, 3);
+        sheet.addMergedRegion(address);
+        ExcelUtil.setRegionBorder(
+            sheet,
+            address,
+            BorderStyle.THIN,
+            IndexedColors.BLACK.getIndex(),
+            styleRegistry);
+      }
+      // 四条边和四个角各一种组合，与区域数量无关
+      int createdSize = styleRegistry.size();
+      assertTrue(createdSize > 0 && createdSize <= 16, String.valueOf(createdSize));
+      assertEquals(createdSize + 1, workbook.getNumCellStyles());
+
+      // 数字形式的边框与枚举得到同一个样式
+      Cell cell = sheet.createRow(200)
+                       .createCell(0);
+      styleRegistry.setCellStyleProperty(cell, CellUtil.BORDER_TOP, (short) 1);
+      assertEquals(BorderStyle.THIN, cell.getCellStyle().getBorderTop());
+      Cell other = sheet.getRow(200)
+                        .createCell(1);
+      styleRegistry.setCellStyleProperty(other, CellUtil.BORDER_TOP, BorderStyle.THIN);
+      assertEquals(cell.getCellStyle().getIndex(), other.getCellStyle().getIndex());
+
+      // 新的缓存读取已有的样式，不重复创建
+      Map<String, Object> properties = new HashMap<>();
+      properties.put(CellUtil.BORDER_TOP, BorderStyle.THIN);
+      int numCellStyles = workbook.getNumCellStyles();
+      CellStyleRegistry another = new CellStyleRegistry(workbook);
+      assertEquals(cell.getCellStyle().getIndex(), another.getCellStyle(properties).getIndex());
+      assertEquals(numCellStyles, workbook.getNumCellStyles());
+      assertEquals(0, another.size());
+    }
+  }
+
+  @Test
+  void testRowBinderPrimitiveSettersAndEnums() throws Exception {
+    RowBinder<ExcelStatusEntity> rowBinder = RowBinder.compile(ExcelStatusEntity.class);
+    ExcelStatusEntity entity = rowBinder.newInstance();
+    assertFalse(rowBinder.isPrimitiveNumeric(0));
+    for (int i = 1; i < rowBinder.size(); i++) {
+      assertTrue(rowBinder.isPrimitiveNumeric(i), rowBinder.fieldName(i));
+    }
+    rowBinder.setNumeric(1, entity, 3);
+    rowBinder.setNumeric(2, entity, 4_000_000_000d);
+    rowBinder.setNumeric(3, entity, 0.5);
+    rowBinder.set(1, entity, 5);
+    assertEquals(5, entity.getTimes());
+    assertEquals(4_000_000_000L, entity.getTotal());
+    assertEquals(0.5, entity.getRatio());
+
+    File xlsx = new File(tempDir, "status.xlsx");
+    try (XSSFWorkbook workbook = new XSSFWorkbook();
+        OutputStream outputStream = new FileOutputStream(xlsx)) {
+      Sheet sheet = workbook.createSheet();
+      sheet.createRow(0)
+           .createCell(0)
+           .setCellValue("状态");
+      Row row = sheet.createRow(1);
+      row.createCell(0)
+         .setCellValue("DISABLED");
+      row.createCell(1)
+         .setCellValue(7);
+      row.createCell(2)
+         .setCellValue("8");
+      row.createCell(3)
+         .setCellValue(0.25);
+      sheet.createRow(2)
+           .createCell(0)
+           .setCellValue("UNKNOWN");
+      workbook.write(outputStream);
+    }
+    try (ExcelDetail<ExcelStatusEntity> workbookDetail = ExcelUtil.build(
+        xlsx,
+        ExcelStatusEntity.class);
+        ExcelDetail<ExcelStatusEntity> streamingDetail = ExcelUtil.buildStreaming(
+            new FileMultipartFile(xlsx),
+            ExcelStatusEntity.class)) {
+      for (ExcelDetail<ExcelStatusEntity> detail : Arrays.asList(workbookDetail, streamingDetail)) {
+        ImportErrorReport errorReport = new ImportErrorReport();
+        List<ExcelStatusEntity> data = detail.getData(0, errorReport);
+        assertEquals(2, data.size());
+        assertEquals(ExcelStatusEntity.Status.DISABLED, data.get(0).getStatus());
+        assertEquals(7, data.get(0).getTimes());
+        assertEquals(8L, data.get(0).getTotal());
+        assertEquals(0.25, data.get(0).getRatio());
+        // 不存在的枚举值按单元格错误处理
+        assertNull(data.get(1).getStatus());
+        assertEquals(1, errorReport.getErrorCount());
+      }
+    }
+
+    // 不支持的字段类型在读取时给出配置错误，不在赋值时抛出 ClassCastException
+    try (ExcelDetail<ExcelUnsupportedEntity> detail = ExcelUtil.build(
+        xlsx,
+        ExcelUnsupportedEntity.class)) {
+      MobeServiceException e = assertThrows(
+          MobeServiceException.class,
+          () -> detail.getData(0, true));
+      assertTrue(e.getMessage().contains("tags"), e.getMessage());
+    }
+  }
+
+  @Test
+  void testDefinitionMetadataIsCachedAndCopied() throws Exception {
+    ExcelDefinitionMetadata metadata = ExcelDefinitionMetadata.of(ExcelEntity.class);
+    assertSame(metadata, ExcelDefinitionMetadata.of(ExcelEntity.class));
+    assertSame(metadata.getRowBinder(), metadata.getRowBinder());
+
+    // 修改返回的结构信息不影响缓存和之后的导出
+    ExcelStructureInfo structureInfo = ExcelUtil.getExcelStructureInfo(ExcelEntity.class);
+    structureInfo.getDataFields()
+                 .get(0)
+                 .setName("已修改");
+    structureInfo.getDataFields()
+                 .remove(1);
+    ExcelStructureInfo cached = metadata.getStructureInfo();
+    assertEquals(5, cached.getDataFields().size());
+    assertEquals("名称", cached.getDataFields().get(0).getName());
+
+    List<ExcelEntity> rows = rows(2);
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.build(
+        exportXlsx(rows, new ExcelExportOptions()),
+        ExcelEntity.class)) {
+      assertEquals("名称", detail.getWorkbook()
+                               .getSheetAt(0)
+                               .getRow(0)
+                               .getCell(0)
+                               .getStringCellValue());
+      assertEquals(rows, detail.getData(0, false));
+    }
+  }
+
+  @Test
+  void testConvertersRejectOverflow() {
+    CellValueConverter integer = CellValueConverters.get(Integer.class);
+    assertEquals(Integer.MAX_VALUE, integer.fromString("2147483647"));
+    assertEquals(12, integer.fromString("12.0"));
+    InvalidCellValueException first =
+        assertThrows(InvalidCellValueException.class, () -> integer.fromString("9999999999"));
+    InvalidCellValueException second =
+        assertThrows(InvalidCellValueException.class, () -> integer.fromString("1e10"));
+    assertNotSame(first, second);
+    assertEquals(0, first.getStackTrace().length);
+    first.addSuppressed(new IllegalStateException());
+    assertEquals(0, second.getSuppressed().length);
+
+    CellValueConverter shortValue = CellValueConverters.get(Short.class);
+    assertEquals((short) -32768, shortValue.fromString("-32768"));
+    assertThrows(InvalidCellValueException.class, () -> shortValue.fromString("40000"));
+
+    CellValueConverter longValue = CellValueConverters.get(Long.class);
+    assertEquals(Long.MAX_VALUE, longValue.fromString("9223372036854775807"));
+    assertThrows(
+        InvalidCellValueException.class, () -> longValue.fromString("9223372036854775808"));
+  }
+
+  @Test
+  void testStreamingReadsSheetsInParallel() throws Exception {
+    List<List<ExcelEntity>> sheets = Arrays.asList(rows(200), rows(50), rows(120));
+    File xlsx = new File(tempDir, "sheets.xlsx");
+    try (Workbook workbook = new XSSFWorkbook();
+        OutputStream outputStream = new FileOutputStream(xlsx)) {
+      for (int i = 0; i < sheets.size(); i++) {
+        writeSheet(workbook.createSheet("数据" + i), sheets.get(i));
+      }
+      workbook.write(outputStream);
+    }
+
+    List<Integer> sheetAts = Arrays.asList(2, 0, 1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.buildStreaming(
+        new FileMultipartFile(xlsx),
+        ExcelEntity.class)) {
+      Map<Integer, List<ExcelEntity>> data = detail.getData(sheetAts, false, executor);
+      assertEquals(sheetAts, new ArrayList<>(data.keySet()));
+      for (int i = 0; i < sheets.size(); i++) {
+        assertEquals(sheets.get(i), data.get(i));
+      }
+      assertEquals(data, detail.getData(sheetAts, false));
+      MobeServiceException e = assertThrows(
+          MobeServiceException.class,
+          () -> detail.getData(Arrays.asList(0, 5, 1), false, executor));
+      assertTrue(e.getMessage()
+                  .contains("5"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testStreamingIteratorStopsWhenClosed() throws Exception {
+    List<ExcelEntity> rows = rows(3000);
+    File xlsx = writeWorkbook(new XSSFWorkbook(), rows, "iterator.xlsx");
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.buildStreaming(
+        new FileMultipartFile(xlsx),
+        ExcelEntity.class)) {
+      try (Stream<ExcelEntity> stream = detail.stream(0, false, executor)) {
+        assertEquals(rows, stream.collect(Collectors.toList()));
+      }
+
+      CloseableIterator<ExcelEntity> iterator = detail.iterator(0, false, executor);
+      for (int i = 0; i < 5; i++) {
+        assertEquals(rows.get(i), iterator.next());
+      }
+      // 读取任务阻塞在已满的队列上，关闭后退出并释放线程
+      iterator.close();
+      assertFalse(iterator.hasNext());
+      assertEquals(
+          "done",
+          executor.submit(() -> "done")
+                  .get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testFormulaModes() throws Exception {
+    File xlsx = new File(tempDir, "formula.xlsx");
+    try (XSSFWorkbook workbook = new XSSFWorkbook();
+        OutputStream outputStream = new FileOutputStream(xlsx)) {
+      XSSFSheet sheet = workbook.createSheet("数据");
+      writeSheet(sheet, rows(2));
+      // 缓存的结果与公式不一致，区分读取的是缓存还是重新计算的结果
+      XSSFCell cached = sheet.getRow(1)
+                             .getCell(1);
+      cached.setCellFormula("2*3");
+      cached.getCTCell()
+            .setV("7");
+      XSSFCell uncached = sheet.getRow(2)
+                               .getCell(1);
+      uncached.setCellFormula("4*5");
+      if (uncached.getCTCell()
+                  .isSetV()) {
+        uncached.getCTCell()
+                .unsetV();
+      }
+      workbook.write(outputStream);
+    }
+
+    Map<FormulaMode, List<Integer>> counts = new HashMap<>();
+    for (FormulaMode formulaMode : FormulaMode.values()) {
+      ExcelImportOptions options = new ExcelImportOptions();
+      options.setFormulaMode(formulaMode);
+      try (ExcelDetail<ExcelEntity> detail = ExcelUtil.build(xlsx, ExcelEntity.class, options)) {
+        assertEquals(formulaMode != FormulaMode.CACHED_ONLY, detail.getEvaluator() != null);
+        counts.put(
+            formulaMode,
+            detail.getData(0, false)
+                  .stream()
+                  .map(ExcelEntity::getCount)
+                  .collect(Collectors.toList()));
+      }
+    }
+    assertEquals(Arrays.asList(6, 20), counts.get(FormulaMode.EVALUATE));
+    assertEquals(Arrays.asList(7, 20), counts.get(FormulaMode.CACHED));
+    // 没有缓存结果时不计算，按数字单元格的默认值读取
+    assertEquals(Arrays.asList(7, 0), counts.get(FormulaMode.CACHED_ONLY));
+  }
+
+  @Test
+  void testBuildFromFilePathAndChannel() throws Exception {
+    List<ExcelEntity> rows = rows(20);
+    StringBuilder text = new StringBuilder("名称,数量,金额,编号,单价\r\n");
+    for (ExcelEntity row : rows) {
+      text.append(row.getName())
+          .append(',')
+          .append(row.getCount())
+          .append(',')
+          .append(row.getAmount())
+          .append(',')
+          .append(row.getId())
+          .append(',')
+          .append(row.getPrice())
+          .append("\r\n");
+    }
+    File csv = new File(tempDir, "source.csv");
+    Files.write(csv.toPath(), text.toString()
+                                  .getBytes(StandardCharsets.UTF_8));
+    List<File> files = Arrays.asList(
+        writeWorkbook(new XSSFWorkbook(), rows, "source.xlsx"),
+        writeWorkbook(new HSSFWorkbook(), rows, "source.xls"),
+        csv);
+
+    for (File file : files) {
+      try (ExcelDetail<ExcelEntity> detail = ExcelUtil.build(file, ExcelEntity.class)) {
+        assertEquals(rows, detail.getData(0, false));
+      }
+      try (ExcelDetail<ExcelEntity> detail = ExcelUtil.build(file.toPath(), ExcelEntity.class)) {
+        assertEquals(rows, detail.getData(0, false));
+      }
+      File tempFile;
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+        try (ExcelDetail<ExcelEntity> detail = ExcelUtil.build(
+            channel,
+            ExcelEntity.class,
+            new ExcelImportOptions())) {
+          assertEquals(rows, detail.getData(0, false));
+          assertEquals(0L, channel.position());
+          tempFile = (detail.getTemporaryWorkbookFile() != null)
+                     ? detail.getTemporaryWorkbookFile()
+                     : detail.getSourceFile();
+          assertTrue(tempFile.exists());
+        }
+        assertTrue(channel.isOpen());
+      }
+      assertFalse(tempFile.exists());
+    }
+
+    File empty = new File(tempDir, "empty.xlsx");
+    assertTrue(empty.createNewFile());
+    try (FileChannel channel = FileChannel.open(empty.toPath(), StandardOpenOption.READ);
+        ExcelDetail<ExcelEntity> detail = ExcelUtil.build(
+            channel,
+            ExcelEntity.class,
+            new ExcelImportOptions())) {
+      assertEquals(0, detail.getWorkbook()
+                            .getNumberOfSheets());
+    }
+  }
+
+  @Test
+  void testWriteToStreamChannelAndPipe() throws Exception {
+    List<ExcelEntity> rows = rows(500);
+    File streamFile = new File(tempDir, "stream.xlsx");
+    File channelFile = new File(tempDir, "channel.xlsx");
+    File pipedFile = new File(tempDir, "piped.xlsx");
+    // 流式导出的 workbook 只能写出一次
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.export(
+        ExcelEntity.class,
+        rows.iterator(),
+        new ExcelExportOptions());
+        OutputStream outputStream = new FileOutputStream(streamFile)) {
+      detail.writeTo(outputStream);
+    }
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.export(
+        ExcelEntity.class,
+        rows.iterator(),
+        new ExcelExportOptions());
+        FileChannel channel = FileChannel.open(
+            channelFile.toPath(),
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE)) {
+      detail.writeTo(channel);
+      assertTrue(channel.isOpen());
+    }
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.export(
+        ExcelEntity.class,
+        rows.iterator(),
+        new ExcelExportOptions());
+        InputStream inputStream = detail.openInputStream()) {
+      Files.copy(inputStream, pipedFile.toPath());
+    }
+
+    for (File file : Arrays.asList(streamFile, channelFile, pipedFile)) {
+      try (ExcelDetail<ExcelEntity> detail = ExcelUtil.build(file, ExcelEntity.class)) {
+        assertEquals(rows, detail.getData(0, false));
+      }
+    }
+  }
+
+  @Test
+  void testFormatDetectedFromContentNotName() throws Exception {
+    List<ExcelEntity> rows = rows(30);
+    File xlsNamedXlsx = writeWorkbook(new HSSFWorkbook(), rows, "xls-content.xlsx");
+    File xlsxNamedXls = writeWorkbook(new XSSFWorkbook(), rows, "xlsx-content.xls");
+    for (File file : Arrays.asList(xlsNamedXlsx, xlsxNamedXls)) {
+      try (ExcelDetail<ExcelEntity> workbookDetail = ExcelUtil.build(
+          new FileMultipartFile(file),
+          ExcelEntity.class);
+          ExcelDetail<ExcelEntity> streamingDetail = ExcelUtil.buildStreaming(
+              new FileMultipartFile(file),
+              ExcelEntity.class)) {
+        assertEquals(rows, workbookDetail.getData(0, false));
+        assertEquals(rows, streamingDetail.getData(0, false));
+      }
+    }
+    assertEquals(ExcelFileFormat.XLS, ExcelFileFormat.detect(xlsNamedXlsx));
+
+    File csvNamedXlsx = new File(tempDir, "csv-content.xlsx");
+    Files.write(
+        csvNamedXlsx.toPath(),
+        "名称,数量\r\n名称1,1\r\n".getBytes(StandardCharsets.UTF_8));
+    MobeErrorCodeException e = assertThrows(
+        MobeErrorCodeException.class,
+        () -> ExcelUtil.build(new FileMultipartFile(csvNamedXlsx), ExcelEntity.class));
+    assertSame(ExcelErrorCode.CSV_REQUIRES_STREAMING, e.getErrorCode());
+    assertNull(e.getCause());
+    assertTrue(e.getMessage()
+                .contains("buildStreaming"));
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.buildStreaming(
+        new FileMultipartFile(csvNamedXlsx),
+        ExcelEntity.class)) {
+      assertEquals(1, detail.getData(0, false)
+                            .size());
+    }
+  }
+
+  @Test
+  void testConverterFailureCollectedInErrorReport() throws Exception {
+    File xlsx = writeWorkbook(new XSSFWorkbook(), rows(3), "error.xlsx");
+    try (Workbook written = new XSSFWorkbook(new FileInputStream(xlsx))) {
+      written.getSheetAt(0)
+             .getRow(2)
+             .getCell(1)
+             .setCellValue("abc");
+      try (OutputStream outputStream = new FileOutputStream(xlsx)) {
+        written.write(outputStream);
+      }
+    }
+
+    try (ExcelDetail<ExcelEntity> workbookDetail = ExcelUtil.build(xlsx, ExcelEntity.class);
+        ExcelDetail<ExcelEntity> streamingDetail = ExcelUtil.buildStreaming(
+            new FileMultipartFile(xlsx),
+            ExcelEntity.class)) {
+      for (ExcelDetail<ExcelEntity> detail : Arrays.asList(workbookDetail, streamingDetail)) {
+        ImportErrorReport errorReport = new ImportErrorReport();
+        List<ExcelEntity> data = detail.getData(0, errorReport);
+        assertEquals(3, data.size());
+        assertNull(data.get(1)
+                       .getCount());
+        assertEquals("名称2", data.get(1)
+                                .getName());
+        assertEquals(1, errorReport.getErrorCount());
+        ImportErrorReport.CellError error = errorReport.getErrors()
+                                                       .get(0);
+        assertEquals(3, error.getRowNum());
+        assertEquals(2, error.getColumnNum());
+        assertEquals("abc", error.getRawValue());
+
+        MobeErrorCodeException e = assertThrows(
+            MobeErrorCodeException.class,
+            () -> detail.getData(0, false));
+        assertEquals(ExcelErrorCode.CELL_VALUE_FORMAT, e.getErrorCode());
+      }
+    }
+  }
+
+  @Test
+  void testHeaderIndexErrorKeepsStackTrace() {
+    MobeErrorCodeException e = assertThrows(
+        MobeErrorCodeException.class,
+        () -> ExcelUtil.build((MultipartFile) null, ExcelHeaderIndexEntity.class));
+    assertSame(ExcelErrorCode.HEADER_INDEX, e.getErrorCode());
+    assertTrue(e.getStackTrace().length > 0);
+    // 数据校验的异常不记录调用栈
+    assertEquals(
+        0,
+        new MobeErrorCodeException(ExcelErrorCode.CELL_VALUE_FORMAT, 1, 1).getStackTrace().length);
+  }
+
+  @Test
+  void testCsvQuotingAndCharsetRoundTrip() throws Exception {
+    List<ExcelEntity> rows = rows(3);
+    rows.get(0)
+        .setName("逗号,分隔");
+    rows.get(1)
+        .setName("引号\"测试\"");
+    rows.get(2)
+        .setName("换行\r\n测试");
+
+    for (Charset charset : Arrays.asList(StandardCharsets.UTF_8, Charset.forName("GB18030"))) {
+      File csv = exportCsv(rows, charset);
+      try (ExcelDetail<ExcelEntity> detail = ExcelUtil.buildStreaming(
+          new FileMultipartFile(csv),
+          ExcelEntity.class)) {
+        assertEquals(rows, detail.getData(0, false), charset.name());
+      }
+    }
+  }
+
+  @Test
+  void testDiskSharedStringsMatchInMemory() throws Exception {
+    List<ExcelEntity> rows = rows(2000);
+    rows.get(10)
+        .setName("多字节 ✓ 字符串 😀");
+    File xlsx = writeWorkbook(new XSSFWorkbook(), rows, "strings.xlsx");
+
+    ExcelImportOptions options = new ExcelImportOptions();
+    // 缓存远小于不同字符串的数量，多数字符串从临时文件读取
+    options.setSharedStringsCacheSize(16);
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.buildStreaming(
+        new FileMultipartFile(xlsx),
+        ExcelEntity.class,
+        options)) {
+      assertEquals(rows, detail.getData(0, false));
+    }
+
+    OPCPackage pkg = OPCPackage.open(xlsx, PackageAccess.READ);
+    try (DiskSharedStringsTable onDisk = new DiskSharedStringsTable(pkg, 8)) {
+      ReadOnlySharedStringsTable inMemory = new ReadOnlySharedStringsTable(pkg);
+      assertEquals(inMemory.getUniqueCount(), onDisk.getUniqueCount());
+      // 倒序读取，每次都淘汰缓存
+      for (int i = inMemory.getUniqueCount() - 1; i >= 0; i--) {
+        assertEquals(inMemory.getItemAt(i)
+                             .getString(), onDisk.getString(i));
+      }
+    } finally {
+      pkg.revert();
+    }
+  }
+
+  @Test
+  void testParallelExportKeepsRowOrder() throws Exception {
+    List<ExcelEntity> rows = rows(1000);
+    ExecutorService renderExecutor = Executors.newFixedThreadPool(4);
+    try {
+      ExcelExportOptions options = new ExcelExportOptions();
+      options.setRenderParallelism(4);
+      options.setRenderChunkSize(7);
+      options.setRenderExecutor(renderExecutor);
+      File xlsx = exportXlsx(rows, options);
+      try (ExcelDetail<ExcelEntity> detail = ExcelUtil.buildStreaming(
+          new FileMultipartFile(xlsx),
+          ExcelEntity.class)) {
+        assertEquals(rows, detail.getData(0, false));
+      }
+    } finally {
+      renderExecutor.shutdown();
+    }
+  }
+
+  @Test
+  void testMultiLevelHeaderMerges() throws Exception {
+    List<ExcelGroupHeaderEntity> rows = IntStream.rangeClosed(1, 5)
+                                                 .mapToObj(ExcelGroupHeaderEntity::of)
+                                                 .collect(Collectors.toList());
+    File xlsx = new File(tempDir, "group-header.xlsx");
+    try (ExcelDetail<ExcelGroupHeaderEntity> detail = ExcelUtil.export(
+        ExcelGroupHeaderEntity.class,
+        rows.iterator(),
+        new ExcelExportOptions());
+        OutputStream outputStream = new FileOutputStream(xlsx)) {
+      detail.writeTo(outputStream);
+    }
+
+    try (XSSFWorkbook workbook = new XSSFWorkbook(new FileInputStream(xlsx))) {
+      Sheet sheet = workbook.getSheetAt(0);
+      List<String> mergedRegions = sheet.getMergedRegions()
+                                        .stream()
+                                        .map(CellRangeAddress::formatAsString)
+                                        .sorted()
+                                        .collect(Collectors.toList());
+      assertEquals(Arrays.asList("A1:C1", "A2:B2", "D1:D2"), mergedRegions);
+      assertEquals("报表", cellText(sheet, 0, 0));
+      assertEquals("备注", cellText(sheet, 0, 3));
+      assertEquals("基本信息", cellText(sheet, 1, 0));
+      assertEquals("统计", cellText(sheet, 1, 2));
+      assertEquals(
+          Arrays.asList("名称", "数量", "金额", "备注"),
+          IntStream.range(0, 4)
+                   .mapToObj(i -> cellText(sheet, 2, i))
+                   .collect(Collectors.toList()));
+      // 合并区域四边的单元格都有边框
+      CellStyle corner = sheet.getRow(0)
+                              .getCell(2)
+                              .getCellStyle();
+      assertEquals(BorderStyle.THIN, corner.getBorderTop());
+      assertEquals(BorderStyle.THIN, corner.getBorderRight());
+      assertEquals(BorderStyle.THIN, corner.getBorderBottom());
+      CellStyle spanned = sheet.getRow(1)
+                               .getCell(3)
+                               .getCellStyle();
+      assertEquals(BorderStyle.THIN, spanned.getBorderBottom());
+      assertEquals(BorderStyle.THIN, spanned.getBorderLeft());
+    }
+
+    try (ExcelDetail<ExcelGroupHeaderEntity> detail = ExcelUtil.build(
+        xlsx,
+        ExcelGroupHeaderEntity.class)) {
+      assertEquals(rows, detail.getData(0, false));
+    }
+  }
+
+  @Test
+  void testSampledColumnWidths() throws Exception {
+    List<ExcelEntity> rows = rows(30);
+    // 12个全角字符，超过最大列宽
+    rows.get(0)
+        .setName("很长很长很长很长很长的名称");
+    // 采样范围之外的行不影响列宽
+    rows.get(20)
+        .setCount(123456789);
+
+    ExcelExportOptions options = new ExcelExportOptions();
+    options.setColumnWidthStrategy(ColumnWidthStrategy.SAMPLED);
+    options.setColumnWidthSampleSize(10);
+    options.setMaxColumnWidth(20);
+    File sampled = exportXlsx(rows, options);
+    File fixed = exportXlsx(rows, new ExcelExportOptions());
+
+    try (XSSFWorkbook workbook = new XSSFWorkbook(new FileInputStream(sampled))) {
+      Sheet sheet = workbook.getSheetAt(0);
+      assertEquals((20 + 2) * 256, sheet.getColumnWidth(0));
+      // 表头“数量”宽4，样本中的数字不超过2位
+      assertEquals((4 + 2) * 256, sheet.getColumnWidth(1));
+      // 超过15位的编号按文本导出
+      assertEquals((16 + 2) * 256, sheet.getColumnWidth(3));
+    }
+    try (XSSFWorkbook workbook = new XSSFWorkbook(new FileInputStream(fixed))) {
+      assertEquals(6 * 256, workbook.getSheetAt(0)
+                                    .getColumnWidth(0));
+    }
+  }
+
+  @Test
+  void testResumeFromCheckpoint() throws Exception {
+    List<ExcelEntity> rows = rows(25);
+    assertResumable(rows, exportXlsx(rows, new ExcelExportOptions()));
+  }
+
+  @Test
+  void testResumeCsvReadsHeaderBeforeCheckpoint() throws Exception {
+    List<ExcelEntity> rows = rows(25);
+    // 列的顺序与定义不同，断点之后的行仍需按表头绑定
+    StringBuilder csv = new StringBuilder("编号,单价,名称,金额,数量\r\n");
+    for (ExcelEntity row : rows) {
+      csv.append(row.getId())
+         .append(',')
+         .append(row.getPrice())
+         .append(',')
+         .append(row.getName())
+         .append(',')
+         .append(row.getAmount())
+         .append(',')
+         .append(row.getCount())
+         .append("\r\n");
+    }
+    File file = new File(tempDir, "resume.csv");
+    Files.write(file.toPath(), csv.toString()
+                                  .getBytes(StandardCharsets.UTF_8));
+    assertResumable(rows, file);
+  }
+
+  @Test
+  void testCancelImportJob() throws Exception {
+    File xlsx = exportXlsx(rows(50), new ExcelExportOptions());
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch released = new CountDownLatch(1);
+    AtomicInteger runningBatches = new AtomicInteger();
+    AtomicInteger queuedBatches = new AtomicInteger();
+
+    try (ExcelImportExecutor executor = new ExcelImportExecutor(1, 1)) {
+      ExcelImportJob<Long> running = executor.submit(
+          ExcelUtil.buildStreaming(new FileMultipartFile(xlsx), ExcelEntity.class),
+          0,
+          false,
+          10,
+          batch -> {
+            runningBatches.incrementAndGet();
+            started.countDown();
+            awaitQuietly(released);
+          });
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      ExcelDetail<ExcelEntity> queuedDetail = ExcelUtil.buildStreaming(
+          new FileMultipartFile(xlsx),
+          ExcelEntity.class);
+      File queuedFile = queuedDetail.getSourceFile();
+      ExcelImportJob<Long> queued = executor.submit(
+          queuedDetail,
+          0,
+          false,
+          10,
+          batch -> queuedBatches.incrementAndGet());
+
+      // 线程和队列都已占满
+      MobeErrorCodeException e = assertThrows(
+          MobeErrorCodeException.class,
+          () -> executor.submit(
+              ExcelUtil.buildStreaming(new FileMultipartFile(xlsx), ExcelEntity.class),
+              0,
+              false));
+      assertEquals(ExcelErrorCode.IMPORT_BUSY, e.getErrorCode());
+
+      // 等待中的任务移出队列并关闭文件，future 立即完成
+      assertTrue(queued.cancel());
+      assertFalse(queued.cancel());
+      assertTrue(queued.isDone());
+      assertThrows(CancellationException.class, () -> queued.getFuture()
+                                                             .get());
+      assertFalse(queuedFile.exists());
+      ExcelImportJob<Long> last = executor.submit(
+          ExcelUtil.buildStreaming(new FileMultipartFile(xlsx), ExcelEntity.class),
+          0,
+          false,
+          10,
+          batch -> { });
+
+      // 执行中的任务在回调返回、处理下一行之前才结束
+      assertTrue(running.cancel());
+      assertFalse(running.isDone());
+      released.countDown();
+      assertThrows(CancellationException.class, () -> running.getFuture()
+                                                              .get(10, TimeUnit.SECONDS));
+      assertEquals(1, runningBatches.get());
+      assertEquals(10L, running.getProcessedRows());
+      assertEquals(0, queuedBatches.get());
+      assertEquals(50L, last.getFuture()
+                            .get(10, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  void testImportMetricsListener() throws Exception {
+    List<ExcelEntity> rows = rows(20);
+    File xlsx = writeWorkbook(new XSSFWorkbook(), rows, "metrics.xlsx");
+    List<ExcelImportMetrics> recorded = new ArrayList<>();
+    ExcelImportMetricsListener listener = recorded::add;
+    ExcelImportMetricsListener failing = metrics -> {
+      throw new IllegalStateException("listener");
+    };
+
+    ExcelImportMetrics.addListener(failing);
+    ExcelImportMetrics.addListener(listener);
+    try (ExcelDetail<ExcelEntity> workbookDetail = ExcelUtil.build(
+        new FileMultipartFile(xlsx),
+        ExcelEntity.class);
+        ExcelDetail<ExcelEntity> streamingDetail = ExcelUtil.buildStreaming(
+            new FileMultipartFile(xlsx),
+            ExcelEntity.class)) {
+      // 监听器的异常不影响读取
+      assertEquals(rows, workbookDetail.getData(0, false));
+      List<ExcelEntity> read = new ArrayList<>();
+      streamingDetail.read(0, false, read::add);
+      assertEquals(rows, read);
+    } finally {
+      ExcelImportMetrics.removeListener(failing);
+      ExcelImportMetrics.removeListener(listener);
+    }
+
+    assertEquals(2, recorded.size());
+    for (ExcelImportMetrics metrics : recorded) {
+      assertEquals("metrics.xlsx", metrics.getFileName());
+      assertEquals(0, metrics.getSheetAt());
+      assertTrue(metrics.isSuccessful());
+      assertEquals(20L, metrics.getRowCount());
+      assertEquals(0L, metrics.getErrorCount());
+      assertEquals(40L, metrics.getCellCount(CellType.STRING));
+      assertEquals(60L, metrics.getCellCount(CellType.NUMERIC));
+      assertEquals(2, metrics.getCellCounts()
+                             .size());
+      assertTrue(metrics.getTotalNanos() > 0);
+    }
+    assertFalse(recorded.get(0)
+                        .isStreaming());
+    assertTrue(recorded.get(1)
+                       .isStreaming());
+    assertTrue(recorded.get(1)
+                       .getParseNanos() > 0);
+
+    // 移除后不再记录
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.buildStreaming(
+        new FileMultipartFile(xlsx),
+        ExcelEntity.class)) {
+      assertEquals(rows, detail.getData(0, false));
+    }
+    assertEquals(2, recorded.size());
+  }
+
+  @Test
+  void testDateFormatCacheFollowsStyleChanges() throws Exception {
+    try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+      // 容量小于样式数量时按需扩容
+      DateFormatCache cache = new DateFormatCache(1);
+      CellStyle style = workbook.createCellStyle();
+      CellStyle dateStyle = workbook.createCellStyle();
+      dateStyle.setDataFormat(workbook.createDataFormat()
+                                      .getFormat("yyyy-mm-dd"));
+      assertFalse(cache.isDateFormat(style));
+      assertTrue(cache.isDateFormat(dateStyle));
+
+      // 缓存之后修改样式的格式，按新的格式重新判断
+      style.setDataFormat(workbook.createDataFormat()
+                                  .getFormat("yyyy/mm/dd hh:mm"));
+      assertTrue(cache.isDateFormat(style));
+      assertTrue(cache.isDateFormat(style.getIndex(), workbook.getStylesSource()));
+      style.setDataFormat(workbook.createDataFormat()
+                                  .getFormat("0.00"));
+      assertFalse(cache.isDateFormat(style));
+      assertFalse(cache.isDateFormat(style.getIndex(), workbook.getStylesSource()));
+      assertTrue(cache.isDateFormat(dateStyle.getIndex(), workbook.getStylesSource()));
+      assertFalse(cache.isDateFormat(workbook.getNumCellStyles(), workbook.getStylesSource()));
+
+      Cell cell = workbook.createSheet()
+                          .createRow(0)
+                          .createCell(0);
+      cell.setCellValue(43000);
+      cell.setCellStyle(dateStyle);
+      assertTrue(cache.isCellDateFormatted(cell));
+      cell.setCellStyle(style);
+      assertFalse(cache.isCellDateFormatted(cell));
+    }
+  }
+
+  private File exportXlsx(List<ExcelEntity> rows, ExcelExportOptions options) throws IOException {
+    File file = new File(tempDir, "export-" + System.nanoTime() + ".xlsx");
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.export(
+        ExcelEntity.class,
+        rows.iterator(),
+        options);
+        OutputStream outputStream = new FileOutputStream(file)) {
+      detail.writeTo(outputStream);
+    }
+    return file;
+  }
+
+  private void assertResumable(List<ExcelEntity> rows, File file) throws Exception {
+    File checkpointDirectory = new File(tempDir, "checkpoint-" + file.getName());
+    FileImportCheckpointStore checkpointStore = new FileImportCheckpointStore(checkpointDirectory);
+    List<ExcelEntity> committed = new ArrayList<>();
+
+    // 第二批失败，只提交第一批
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.buildStreaming(
+        new FileMultipartFile(file),
+        ExcelEntity.class)) {
+      assertThrows(
+          IllegalStateException.class,
+          () -> detail.readResumable(0, false, 10, checkpointStore, batch -> {
+            if (!committed.isEmpty()) {
+              throw new IllegalStateException("批次提交失败");
+            }
+            committed.addAll(batch);
+          }));
+    }
+    assertEquals(10, committed.size());
+
+    // 重新上传同一个文件，从断点继续
+    try (ExcelDetail<ExcelEntity> detail = ExcelUtil.buildStreaming(
+        new FileMultipartFile(file),
+        ExcelEntity.class)) {
+      long rowCount = detail.readResumable(0, false, 10, checkpointStore, committed::addAll);
+      assertEquals(rows.size(), rowCount);
+    }
+    assertEquals(rows, committed);
+    String[] checkpoints = checkpointDirectory.list();
+    assertTrue(checkpoints == null || checkpoints.length == 0);
+  }
+
+  private File exportCsv(List<ExcelEntity> rows, Charset charset) throws IOException {
+    File file = new File(tempDir, "export-" + charset.name() + ".csv");
+    try (FileChannel channel = FileChannel.open(
+        file.toPath(),
+        StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE)) {
+      assertEquals(rows.size(), ExcelUtil.exportCsv(
+          ExcelEntity.class,
+          rows.iterator(),
+          channel,
+          charset));
+    }
+    return file;
+  }
+
+  private File writeWorkbook(Workbook workbook, List<ExcelEntity> rows, String fileName)
+      throws IOException {
+    File file = new File(tempDir, fileName);
+    try (Workbook closeable = workbook;
+        OutputStream outputStream = new FileOutputStream(file)) {
+      writeSheet(workbook.createSheet("数据"), rows);
+      closeable.write(outputStream);
+    }
+    return file;
+  }
+
+  private static void writeSheet(Sheet sheet, List<ExcelEntity> rows) {
+    Row header = sheet.createRow(0);
+    List<String> names = Arrays.asList("名称", "数量", "金额", "编号", "单价");
+    for (int i = 0; i < names.size(); i++) {
+      header.createCell(i)
+            .setCellValue(names.get(i));
+    }
+    for (int i = 0; i < rows.size(); i++) {
+      ExcelEntity entity = rows.get(i);
+      Row row = sheet.createRow(i + 1);
+      row.createCell(0)
+         .setCellValue(entity.getName());
+      row.createCell(1)
+         .setCellValue(entity.getCount());
+      row.createCell(2)
+         .setCellValue(entity.getAmount()
+                             .doubleValue());
+      row.createCell(3)
+         .setCellValue(String.valueOf(entity.getId()));
+      row.createCell(4)
+         .setCellValue(entity.getPrice());
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread()
+            .interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String cellText(Sheet sheet, int rowIndex, int columnIndex) {
+    return sheet.getRow(rowIndex)
+                .getCell(columnIndex)
+                .getStringCellValue();
+  }
+
+  private static List<ExcelEntity> rows(int count) {
+    return IntStream.rangeClosed(1, count)
+                    .mapToObj(ExcelEntity::of)
+                    .collect(Collectors.toList());
+  }
+
+  /**
+   * 磁盘文件作为上传文件.
+   */
+  private static class FileMultipartFile implements MultipartFile {
+
+    private final File file;
+
+    FileMultipartFile(File file) {
+      this.file = file;
+    }
+
+    @Override
+    public String getName() {
+      return "file";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+      return file.getName();
+    }
+
+    @Override
+    public String getContentType() {
+      return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return file.length() == 0;
+    }
+
+    @Override
+    public long getSize() {
+      return file.length();
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+      return Files.readAllBytes(file.toPath());
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+      return new FileInputStream(file);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+      Files.copy(file.toPath(), dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
 }
@@ -0,0 +1,52 @@
+package cloud.mobe.utils.entity.excel;
+
+import cloud.mobe.utils.excel.AbstractExcelDefinition;
+import cloud.mobe.utils.excel.annotation.ExcelColumn;
+import cloud.mobe.utils.excel.annotation.ExcelFile;
+import java.math.BigDecimal;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Excel测试实体.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 23:50
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(callSuper = false)
+@ExcelFile(value = "测试", sheet = "数据")
+public class ExcelEntity extends AbstractExcelDefinition {
+
+  @ExcelColumn(name = "名称", index = 0)
+  private String name;
+  @ExcelColumn(name = "数量", index = 1)
+  private Integer count;
+  @ExcelColumn(name = "金额", index = 2)
+  private BigDecimal amount;
+  @ExcelColumn(name = "编号", index = 3)
+  private Long id;
+  @ExcelColumn(name = "单价", index = 4)
+  private double price;
+
+  /**
+   * 创建测试数据.
+   *
+   * @param i 序号
+   * @return 测试数据
+   */
+  public static ExcelEntity of(int i) {
+    ExcelEntity entity = new ExcelEntity();
+    entity.setName("名称" + i);
+    entity.setCount(i);
+    entity.setAmount(BigDecimal.valueOf(i * 10L + 5, 1));
+    // 超过 double 精度的编号按文本导出
+    entity.setId(9007199254740993L + i);
+    entity.setPrice(i + 0.25);
+    return entity;
+  }
+}
@@ -0,0 +1,77 @@
+package cloud.mobe.utils.entity.excel;
+
+import cloud.mobe.utils.excel.AbstractExcelDefinition;
+import cloud.mobe.utils.excel.annotation.ExcelColumn;
+import cloud.mobe.utils.excel.annotation.ExcelFile;
+import cloud.mobe.utils.excel.annotation.ExcelHeader;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 多级表头的Excel测试实体.
+ *
+ * <p>第1行为标题和跨两行的备注，第2行为分组，第3行为数据列名
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/19 00:10
+ */
+@Getter
+@Setter
+@ToString(exclude = {"title", "group"})
+@EqualsAndHashCode(callSuper = false, exclude = {"title", "group"})
+@ExcelFile(value = "多级表头", sheet = "数据", headerIndex = 3)
+public class ExcelGroupHeaderEntity extends AbstractExcelDefinition {
+
+  @ExcelHeader(index = 0)
+  private Title title;
+  @ExcelHeader(index = 1)
+  private Group group;
+
+  @ExcelColumn(name = "名称", index = 0)
+  private String name;
+  @ExcelColumn(name = "数量", index = 1)
+  private Integer count;
+  @ExcelColumn(name = "金额", index = 2)
+  private Integer amount;
+  @ExcelColumn(name = "备注", index = 3)
+  private String remark;
+
+  /**
+   * 创建测试数据.
+   *
+   * @param i 序号
+   * @return 测试数据
+   */
+  public static ExcelGroupHeaderEntity of(int i) {
+    ExcelGroupHeaderEntity entity = new ExcelGroupHeaderEntity();
+    entity.setName("名称" + i);
+    entity.setCount(i);
+    entity.setAmount(i * 10);
+    entity.setRemark("备注" + i);
+    return entity;
+  }
+
+  /**
+   * 第1行表头.
+   */
+  public static class Title {
+
+    @ExcelColumn(name = "报表", index = 0, colspan = 3)
+    private String report;
+    @ExcelColumn(name = "备注", index = 3, rowspan = 2)
+    private String remark;
+  }
+
+  /**
+   * 第2行表头.
+   */
+  public static class Group {
+
+    @ExcelColumn(name = "基本信息", index = 0, colspan = 2)
+    private String basic;
+    @ExcelColumn(name = "统计", index = 2)
+    private String statistics;
+  }
+}
@@ -0,0 +1,22 @@
+package cloud.mobe.utils.entity.excel;
+
+import cloud.mobe.utils.excel.AbstractExcelDefinition;
+import cloud.mobe.utils.excel.annotation.ExcelColumn;
+import cloud.mobe.utils.excel.annotation.ExcelFile;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 表格头位置配置错误的Excel测试实体.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 23:58
+ */
+@Getter
+@Setter
+@ExcelFile(value = "表格头错误", sheet = "数据", headerIndex = 0)
+public class ExcelHeaderIndexEntity extends AbstractExcelDefinition {
+
+  @ExcelColumn(name = "名称", index = 0)
+  private String name;
+}
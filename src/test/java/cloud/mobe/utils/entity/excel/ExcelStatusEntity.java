@@ -0,0 +1,36 @@
+package cloud.mobe.utils.entity.excel;
+
+import cloud.mobe.utils.excel.AbstractExcelDefinition;
+import cloud.mobe.utils.excel.annotation.ExcelColumn;
+import cloud.mobe.utils.excel.annotation.ExcelFile;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 枚举和基本类型字段的Excel测试实体.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 23:55
+ */
+@Getter
+@Setter
+@ExcelFile(value = "状态", sheet = "数据")
+public class ExcelStatusEntity extends AbstractExcelDefinition {
+
+  @ExcelColumn(name = "状态", index = 0)
+  private Status status;
+  @ExcelColumn(name = "次数", index = 1)
+  private int times;
+  @ExcelColumn(name = "总数", index = 2)
+  private long total;
+  @ExcelColumn(name = "比例", index = 3)
+  private double ratio;
+
+  /**
+   * 状态.
+   */
+  public enum Status {
+    ENABLED,
+    DISABLED
+  }
+}
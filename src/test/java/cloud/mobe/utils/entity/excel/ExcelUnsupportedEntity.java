@@ -0,0 +1,25 @@
+package cloud.mobe.utils.entity.excel;
+
+import cloud.mobe.utils.excel.AbstractExcelDefinition;
+import cloud.mobe.utils.excel.annotation.ExcelColumn;
+import cloud.mobe.utils.excel.annotation.ExcelFile;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 字段类型不支持导入的Excel测试实体.
+ *
+ * @author lsw1991abc@gmail.com
+ * @since 2026/10/18 23:55
+ */
+@Getter
+@Setter
+@ExcelFile(value = "不支持", sheet = "数据")
+public class ExcelUnsupportedEntity extends AbstractExcelDefinition {
+
+  @ExcelColumn(name = "名称", index = 0)
+  private String name;
+  @ExcelColumn(name = "标签", index = 1)
+  private List<String> tags;
+}